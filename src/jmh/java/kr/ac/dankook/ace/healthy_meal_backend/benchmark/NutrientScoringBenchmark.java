@@ -0,0 +1,99 @@
+package kr.ac.dankook.ace.healthy_meal_backend.benchmark;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.NutrientScoringEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일별 식단 점수 계산 비교 벤치마크입니다. (./gradlew jmh)
+ * <ul>
+ *     <li>boxedLegacy: 기존 DietaryScoreService 방식 (하루마다 Double/Float List.of 를 만들고 get(i) 로 언박싱)</li>
+ *     <li>engineLegacy: 같은 계산식을 {@link NutrientScoringEngine#legacy()} 로 원시 배열에서 계산</li>
+ *     <li>engineCurves: 영양소별 NutrientScoringType 곡선을 적용한 계산</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NutrientScoringBenchmark {
+
+    private static final int N = NutrientScoringEngine.NUTRIENT_COUNT;
+
+    @Param({"1000", "10000"})
+    private int days;
+
+    private double[] actuals;
+    private double[] targets;
+    private Double[][] boxedActuals;
+    private Float[][] boxedTargets;
+    private double[] out;
+
+    private final NutrientScoringEngine legacy = NutrientScoringEngine.legacy();
+    private final NutrientScoringEngine curves = NutrientScoringEngine.of(Map.of());
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        actuals = new double[days * N];
+        targets = new double[days * N];
+        boxedActuals = new Double[days][N];
+        boxedTargets = new Float[days][N];
+        out = new double[days];
+        for (int day = 0; day < days; day++) {
+            for (int i = 0; i < N; i++) {
+                float target = 10 + random.nextFloat() * 2000;
+                double actual = target * random.nextDouble() * 2;
+                actuals[day * N + i] = actual;
+                targets[day * N + i] = target;
+                boxedActuals[day][i] = actual;
+                boxedTargets[day][i] = target;
+            }
+        }
+    }
+
+    @Benchmark
+    public void boxedLegacy(Blackhole blackhole) {
+        for (int day = 0; day < days; day++) {
+            Double[] a = boxedActuals[day];
+            Float[] t = boxedTargets[day];
+            List<Double> actualList = List.of(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]);
+            List<Float> targetList = List.of(t[0], t[1], t[2], t[3], t[4], t[5], t[6], t[7]);
+
+            double totalScore = 0;
+            double maxScore = 0;
+            for (int i = 0; i < targetList.size(); i++) {
+                double actualValue = actualList.get(i);
+                double targetValue = targetList.get(i);
+                totalScore += calculateScorePerNutrient(actualValue, targetValue);
+                maxScore += 100;
+            }
+            blackhole.consume((int) Math.round((totalScore / maxScore) * 100));
+        }
+    }
+
+    @Benchmark
+    public double[] engineLegacy() {
+        legacy.scoreAll(actuals, targets, days, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] engineCurves() {
+        curves.scoreAll(actuals, targets, days, out);
+        return out;
+    }
+
+    private static double calculateScorePerNutrient(double actual, double target) {
+        if (target == 0) return 100.0;
+        double ratio = actual / target;
+        double deviation = Math.abs(1.0 - ratio);
+        double penalty = deviation * 100;
+        double score = 100.0 - penalty;
+        return Math.max(0, score);
+    }
+}
@@ -2,6 +2,7 @@ package kr.ac.dankook.ace.healthy_meal_backend;
 
 import kr.ac.dankook.ace.healthy_meal_backend.exception.DuplicateUserIdException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -68,6 +69,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleTaskRejected(TaskRejectedException ex) {
+        log.error("분석 작업 대기열 초과: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "분석 요청이 많아 잠시 후 다시 시도해주세요.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
         log.error("메소드 검증 실패!: {}", ex.getMessage());
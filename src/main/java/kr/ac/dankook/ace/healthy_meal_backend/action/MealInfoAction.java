@@ -1,47 +1,100 @@
 package kr.ac.dankook.ace.healthy_meal_backend.action;
 
-import jakarta.transaction.Transactional;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.MealInfo;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.User;
+import kr.ac.dankook.ace.healthy_meal_backend.model.AnalyzedFoods;
+import kr.ac.dankook.ace.healthy_meal_backend.model.ImageSource;
+import kr.ac.dankook.ace.healthy_meal_backend.service.AnalysisProgressListener;
+import kr.ac.dankook.ace.healthy_meal_backend.service.ImagePreprocessorService;
 import kr.ac.dankook.ace.healthy_meal_backend.service.MealInfoFoodAnalyzeService;
 import kr.ac.dankook.ace.healthy_meal_backend.service.NutrientIntakeService;
 import kr.ac.dankook.ace.healthy_meal_backend.service.StorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 @Service
 public class MealInfoAction {
 
+    private static final Logger logger = LoggerFactory.getLogger(MealInfoAction.class);
+
+    // 업로드 시점에 원본 옆에 저장하는 분석용 이미지 변형 이름
+    private static final String SMALL_VARIANT = String.valueOf(ImagePreprocessorService.SMALL_LONGEST);
+    private static final String LARGE_VARIANT = String.valueOf(ImagePreprocessorService.LARGE_LONGEST);
+
     private final MealInfoFoodAnalyzeService mealInfoFoodAnalyzeService;
     private final NutrientIntakeService nutrientIntakeService;
     private final StorageService storageService;
+    private final ImagePreprocessorService imagePreprocessorService;
 
     @Autowired
     MealInfoAction(
             MealInfoFoodAnalyzeService mealInfoFoodAnalyzeService,
             StorageService storageService,
-            NutrientIntakeService nutrientIntakeservice
+            NutrientIntakeService nutrientIntakeservice,
+            ImagePreprocessorService imagePreprocessorService
     ) {
         this.mealInfoFoodAnalyzeService = mealInfoFoodAnalyzeService;
         this.storageService = storageService;
         this.nutrientIntakeService = nutrientIntakeservice;
+        this.imagePreprocessorService = imagePreprocessorService;
     }
 
-    @Transactional
-    public MealInfo createMealInfo(MultipartFile file, User user) {
+    /**
+     * 업로드 이미지를 저장하고 식단을 기록합니다.
+     * 원본 저장과 분석용 이미지 생성(디코딩/리사이즈)은 CPU 를 오래 쓰므로 트랜잭션 밖에서, DB 를 조회하기 전에 끝냅니다.
+     * (open-in-view 에서는 요청 중 처음 잡은 DB 커넥션을 요청이 끝날 때까지 유지)
+     * 식단 기록에 실패하면(유저 없음 등) 저장한 이미지를 지웁니다.
+     */
+    public MealInfo createMealInfo(MultipartFile file, String userId) {
         String filePath = storageService.store(file);
-        return mealInfoFoodAnalyzeService.createMealInfo(filePath, user);
+        storeAnalysisImages(filePath);
+        try {
+            return mealInfoFoodAnalyzeService.createMealInfo(filePath, userId);
+        } catch (RuntimeException e) {
+            deleteStoredImages(filePath);
+            throw e;
+        }
+    }
+
+    /**
+     * 업로드된 원본으로 분석용 JPEG(896px, 1024px)를 만들어 원본 옆에 저장합니다.
+     * 이미지 디코딩/리사이즈를 분석 요청이 아닌 업로드 시점에 끝내두기 위함이며,
+     * 실패하더라도 업로드는 그대로 진행하고 분석 시점에 원본으로 전처리합니다.
+     */
+    private void storeAnalysisImages(String filePath) {
+        try {
+            byte[] original = Files.readAllBytes(storageService.load(filePath));
+            ImagePreprocessorService.AnalysisImages images = imagePreprocessorService.toAnalysisImages(original);
+            storageService.storeDerivative(filePath, SMALL_VARIANT, images.small().bytes());
+            storageService.storeDerivative(filePath, LARGE_VARIANT, images.large().bytes());
+        } catch (Exception e) {
+            logger.warn("분석용 이미지 생성 실패, 분석 시점에 전처리함 ({}): {}", filePath, e.getMessage());
+        }
     }
 
-    public List<String> analyzeMealInfo(Long mealInfoId, String userId) {
+    public AnalyzedFoods analyzeMealInfo(Long mealInfoId, String userId) {
         MealInfo mealInfo = mealInfoFoodAnalyzeService.validateMealInfoId(mealInfoId, userId);
-        String base64Image = storageService.convertImageToBase64(mealInfo.getImgPath());
-        List<String> gptResponse;
-        gptResponse = mealInfoFoodAnalyzeService.gptAnalyzeImage(base64Image);
-        return gptResponse;
+        return analyzeStoredImage(mealInfo.getImgPath(), AnalysisProgressListener.NONE);
+    }
+
+    /**
+     * 저장된 식단 이미지를 분석합니다.
+     * 업로드 시점에 만들어둔 분석용 JPEG 가 있으면 그대로 사용하고, 없으면 원본을 전처리합니다.
+     */
+    public AnalyzedFoods analyzeStoredImage(String imgPath, AnalysisProgressListener listener) {
+        Path small = storageService.load(storageService.derivativeFilename(imgPath, SMALL_VARIANT));
+        Path large = storageService.load(storageService.derivativeFilename(imgPath, LARGE_VARIANT));
+        if (Files.isReadable(small) && Files.isReadable(large)) {
+            // 파일을 미리 읽지 않고, 요청 body 를 쓸 때 파일에서 바로 인코딩
+            return mealInfoFoodAnalyzeService.gptAnalyzeImage(ImageSource.ofPath(small), ImageSource.ofPath(large), listener);
+        }
+        return mealInfoFoodAnalyzeService.gptAnalyzeOriginalImage(storageService.load(imgPath), listener);
     }
 
 /*    public MealInfo completeMealInfo(User user, Long mealInfoId, Float amount, String diary, List<String> confirmedFoods) {
@@ -56,8 +109,15 @@ public class MealInfoAction {
 
     public void deleteMealInfo(Long mealInfoId, User user) {
         MealInfo mealInfo = mealInfoFoodAnalyzeService.validateMealInfoId(mealInfoId, user.getId());
-        storageService.delete(mealInfo.getImgPath());
-        nutrientIntakeService.applyDeleteDailyIntake(mealInfo, user, mealInfo.getCreatedAt().toLocalDate());
+        deleteStoredImages(mealInfo.getImgPath());
+        nutrientIntakeService.applyDeleteDailyIntake(mealInfo, user);
         mealInfoFoodAnalyzeService.deleteMealInfo(mealInfo, user);
     }
+
+    // 원본과 분석용 이미지 변형을 함께 삭제
+    private void deleteStoredImages(String filePath) {
+        storageService.delete(filePath);
+        storageService.delete(storageService.derivativeFilename(filePath, SMALL_VARIANT));
+        storageService.delete(storageService.derivativeFilename(filePath, LARGE_VARIANT));
+    }
 }
@@ -0,0 +1,36 @@
+package kr.ac.dankook.ace.healthy_meal_backend.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * GPT 식단 분석 전용 스레드풀.
+     * 큐까지 가득 차면 TaskRejectedException 을 던져 요청을 바로 거절함 (Tomcat 스레드를 붙잡지 않음)
+     */
+    @Bean
+    @Qualifier("analysisExecutor")
+    public ThreadPoolTaskExecutor analysisExecutor(
+            @Value("${analysis.executor.core-size:2}") int coreSize,
+            @Value("${analysis.executor.max-size:4}") int maxSize,
+            @Value("${analysis.executor.queue-capacity:20}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,28 @@
+package kr.ac.dankook.ace.healthy_meal_backend.config;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+/**
+ * OpenAI 클라이언트 요청 관측(http.client.requests)에 어떤 클라이언트의 요청인지 client 태그를 붙입니다.
+ * 모든 클라이언트가 같은 호스트를 부르므로 기본 태그만으로는 클라이언트(분석 단계)별 소요시간/상태를 나눠 볼 수 없습니다.
+ * <ul>
+ *     <li>http.client.requests{client,status,outcome,...} : 요청 소요시간 (연결 수립 시간 포함)</li>
+ *     <li>http.client.requests.active{client,...} : 현재 진행 중인 요청 수</li>
+ * </ul>
+ * 인터셉터와 달리 요청 body 를 버퍼링하지 않으므로 이미지 요청 body 스트리밍이 그대로 유지됩니다.
+ */
+public class OpenAiClientObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private final String clientName;
+
+    public OpenAiClientObservationConvention(String clientName) {
+        this.clientName = clientName;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and("client", clientName);
+    }
+}
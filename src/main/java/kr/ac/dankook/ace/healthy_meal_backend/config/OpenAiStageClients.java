@@ -0,0 +1,27 @@
+package kr.ac.dankook.ace.healthy_meal_backend.config;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisStage;
+import org.springframework.web.client.RestClient;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 분석 단계별 OpenAI Responses API 클라이언트 모음입니다.
+ */
+public class OpenAiStageClients {
+
+    private final Map<AnalysisStage, RestClient> clients;
+
+    public OpenAiStageClients(Map<AnalysisStage, RestClient> clients) {
+        this.clients = new EnumMap<>(clients);
+    }
+
+    public RestClient forStage(AnalysisStage stage) {
+        RestClient client = clients.get(stage);
+        if (client == null) {
+            throw new IllegalArgumentException("분석 단계용 클라이언트가 없습니다: " + stage);
+        }
+        return client;
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import kr.ac.dankook.ace.healthy_meal_backend.security.AuthOutcomeRecorder;
 import kr.ac.dankook.ace.healthy_meal_backend.security.CustomUserDetailsService;
 import kr.ac.dankook.ace.healthy_meal_backend.security.JwtAuthenticationFilter;
 import kr.ac.dankook.ace.healthy_meal_backend.security.JwtTokenProvider;
@@ -24,10 +25,13 @@ public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final AuthOutcomeRecorder authOutcomeRecorder;
     
-    public SecurityConfig(JwtTokenProvider jwtTokenProvider, CustomUserDetailsService customUserDetailsService) {
+    public SecurityConfig(JwtTokenProvider jwtTokenProvider, CustomUserDetailsService customUserDetailsService,
+                          AuthOutcomeRecorder authOutcomeRecorder) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.customUserDetailsService = customUserDetailsService;
+        this.authOutcomeRecorder = authOutcomeRecorder;
     }
 
     @Bean
@@ -47,7 +51,7 @@ public class SecurityConfig {
                                     ).permitAll()
                                 .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, authOutcomeRecorder), UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
@@ -1,42 +1,103 @@
 package kr.ac.dankook.ace.healthy_meal_backend.config;
 
+import io.micrometer.observation.ObservationRegistry;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisStage;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 
+/**
+ * OpenAI 호출용 RestClient 설정입니다.
+ * 모든 클라이언트가 하나의 JDK {@link HttpClient} 를 공유하므로 연결(TLS 핸드셰이크 포함)은 풀에서 재사용되고,
+ * HTTP/2 로 협상되면 한 연결 위에서 요청이 다중화됩니다. 읽기 타임아웃은 클라이언트(분석 단계)별로 따로 설정합니다.
+ * 요청 인터셉터를 달면 RestClient 가 요청 body 를 byte[] 로 버퍼링하므로, 메트릭은 인터셉터 대신 관측(observation)으로 수집합니다.
+ */
 @Configuration
 public class WebClientConfig {
 
     private static final String OPENAI_RESP = "https://api.openai.com/v1/responses";
     private static final String OPENAI_CONV = "https://api.openai.com/v1/conversations";
 
+    @Bean
+    public HttpClient openAiHttpClient(@Value("${openai.client.connect-timeout:10s}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)   // 서버가 지원하지 않으면 HTTP/1.1 keep-alive 로 동작
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
     @Bean
     @Qualifier("convClient")
-    public RestClient convClient() {
-        return RestClient.builder()
+    public RestClient convClient(
+            RestClient.Builder builder,
+            HttpClient openAiHttpClient,
+            ObservationRegistry observationRegistry,
+            @Value("${openai.client.read-timeout.conversation:30s}") Duration readTimeout
+    ) {
+        return builder
                 .baseUrl(OPENAI_CONV)
                 .defaultHeader("Content-Type", "application/json")
-                .requestFactory(createSimpleRequestFactory())
+                .requestFactory(createRequestFactory(openAiHttpClient, readTimeout))
+                .observationRegistry(observationRegistry)
+                .observationConvention(new OpenAiClientObservationConvention("conversation"))
                 .build();
     }
 
     @Bean
     @Qualifier("respClient")
-    public RestClient respClient() {
-        return RestClient.builder()
+    public RestClient respClient(
+            RestClient.Builder builder,
+            HttpClient openAiHttpClient,
+            ObservationRegistry observationRegistry,
+            @Value("${openai.client.read-timeout.default:5m}") Duration readTimeout
+    ) {
+        return builder
                 .baseUrl(OPENAI_RESP)
+                .requestFactory(createRequestFactory(openAiHttpClient, readTimeout))
+                .observationRegistry(observationRegistry)
+                .observationConvention(new OpenAiClientObservationConvention("responses"))
                 .build();
     }
 
-    private ClientHttpRequestFactory createSimpleRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(Duration.ofSeconds(30));  // 연결 타임아웃: 30초
-        factory.setReadTimeout(Duration.ofMinutes(5));      // 읽기 타임아웃: 5분
+    /**
+     * 분석 단계별 Responses API 클라이언트. 단계마다 응답 길이/소요시간이 달라 읽기 타임아웃을 따로 둡니다.
+     */
+    @Bean
+    public OpenAiStageClients openAiStageClients(
+            RestClient.Builder builder,
+            HttpClient openAiHttpClient,
+            ObservationRegistry observationRegistry,
+            @Value("${openai.client.read-timeout.major-category:60s}") Duration majorCategoryTimeout,
+            @Value("${openai.client.read-timeout.representative-food:60s}") Duration representativeFoodTimeout,
+            @Value("${openai.client.read-timeout.final-food:90s}") Duration finalFoodTimeout
+    ) {
+        Map<AnalysisStage, Duration> timeouts = new EnumMap<>(AnalysisStage.class);
+        timeouts.put(AnalysisStage.MAJOR_CATEGORY, majorCategoryTimeout);
+        timeouts.put(AnalysisStage.REPRESENTATIVE_FOOD, representativeFoodTimeout);
+        timeouts.put(AnalysisStage.FINAL_FOOD, finalFoodTimeout);
+
+        Map<AnalysisStage, RestClient> clients = new EnumMap<>(AnalysisStage.class);
+        timeouts.forEach((stage, timeout) -> clients.put(stage, builder.clone()
+                .baseUrl(OPENAI_RESP)
+                .requestFactory(createRequestFactory(openAiHttpClient, timeout))
+                .observationRegistry(observationRegistry)
+                .observationConvention(new OpenAiClientObservationConvention(stage.name().toLowerCase()))
+                .build()));
+        return new OpenAiStageClients(clients);
+    }
+
+    private JdkClientHttpRequestFactory createRequestFactory(HttpClient httpClient, Duration readTimeout) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(readTimeout);
         return factory;
     }
 
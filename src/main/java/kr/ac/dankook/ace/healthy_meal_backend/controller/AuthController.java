@@ -22,6 +22,7 @@ import kr.ac.dankook.ace.healthy_meal_backend.dto.LoginRequestDTO;
 import kr.ac.dankook.ace.healthy_meal_backend.dto.TokenResponseDTO;
 import kr.ac.dankook.ace.healthy_meal_backend.dto.UserGetDTO;
 import kr.ac.dankook.ace.healthy_meal_backend.dto.UserPostDTO;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.NutrientWeights;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.User;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.UserRepository;
 import kr.ac.dankook.ace.healthy_meal_backend.security.JwtTokenProvider;
@@ -41,7 +42,7 @@ public class AuthController {
     @PostMapping("/signup")
     @Operation(summary = "주어진 정보로 회원가입")
     public ResponseEntity<UserGetDTO> createUser(@RequestBody UserPostDTO userPost) {
-        logger.info("회원가입 시작 - 전달받은 DTO: {}",  userPost);
+        logger.info("회원가입 시작 - 전달받은 DTO: {}",  userPost);   // 비밀번호는 toString 에서 제외됨
         if (userRepository.existsById(userPost.getId())) {
             throw new DuplicateUserIdException(userPost.getId());
         }
@@ -51,6 +52,7 @@ public class AuthController {
         user.setHashedPassword(passwordEncoder.encode(userPost.getHashedPassword()));
         user.setBirthday(userPost.getBirthday());
         user.setGender(userPost.getGender() != null && !userPost.getGender().isEmpty() ? userPost.getGender().charAt(0) : null);
+        user.updateNutrientWeights(NutrientWeights.defaults());
 
         var savedUser = userRepository.save(user);
         UserGetDTO userGetDTO = modelMapper.map(savedUser, UserGetDTO.class);
@@ -61,7 +63,7 @@ public class AuthController {
     @PostMapping("/login")
     @Operation(summary = "아이디/패스워드로 인증")
     public ResponseEntity<?> login(@RequestBody LoginRequestDTO request) {
-        logger.info("토큰 발급 전 인증 진행: {} {}", request.getId(), request.getPassword());
+        logger.debug("토큰 발급 전 인증 진행: {}", request.getId());
 
         Authentication auth;
         try {
@@ -3,6 +3,7 @@ package kr.ac.dankook.ace.healthy_meal_backend.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.UserRepository;
 import kr.ac.dankook.ace.healthy_meal_backend.service.UserService;
 import kr.ac.dankook.ace.healthy_meal_backend.dto.DietCriterionWeightDTO;
@@ -55,7 +56,7 @@ public class DietCriterionController {
     @Operation(summary = "사용자 영양소 섭취기준 가중치 조회", security = @SecurityRequirement(name = "BearerAuth"))
     @PostMapping("/{userId}/weight")
     public ResponseEntity<DietCriterionWeightDTO> setDietCriteriaWeight(
-            @PathVariable String userId, @RequestBody DietCriterionWeightDTO dietCriterionWeightDTO
+            @PathVariable String userId, @RequestBody @Valid DietCriterionWeightDTO dietCriterionWeightDTO
     ) {
         // @PathVariable_userId 유효성 검증
         if (!userRepository.existsById(userId)) {
@@ -5,19 +5,35 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import kr.ac.dankook.ace.healthy_meal_backend.dto.CursorPageDTO;
 import kr.ac.dankook.ace.healthy_meal_backend.dto.FoodDTO;
 import kr.ac.dankook.ace.healthy_meal_backend.dto.FoodPostDTO;
+import kr.ac.dankook.ace.healthy_meal_backend.dto.MealInfoPostDTO;
+import kr.ac.dankook.ace.healthy_meal_backend.dto.PageDTO;
+import kr.ac.dankook.ace.healthy_meal_backend.dto.UserGetDTO;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.Food;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.MealInfo;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.User;
+import kr.ac.dankook.ace.healthy_meal_backend.event.FoodCatalogChangedEvent;
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodNameIndex;
+import kr.ac.dankook.ace.healthy_meal_backend.model.KeysetCursor;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.FoodRepository;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.MealInfoRepository;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.UserRepository;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.projection.FoodCatalogRow;
+import kr.ac.dankook.ace.healthy_meal_backend.service.FoodLinkService;
+import kr.ac.dankook.ace.healthy_meal_backend.service.FoodNameMatcher;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -29,45 +45,118 @@ public class FoodController {
 
     private final FoodRepository foodRepository;
     private final MealInfoRepository mealInfoRepository;
+    private final UserRepository userRepository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FoodNameMatcher foodNameMatcher;
+    private final FoodLinkService foodLinkService;
 
+    private static final int MAX_MATCH_COUNT = 50;
+    private static final int MAX_PAGE_SIZE = 100;
 
     @GetMapping()
-    @Operation(summary = "이름, 대표음식명, 대분류명으로 음식들 가져오기",
-            description = "모든 파라미터는 선택적", security = @SecurityRequirement(name = "BearerAuth"))
-    public List<Food> getFood(
+    @Operation(summary = "이름, 대표음식명, 대분류명으로 음식들 페이지 단위로 가져오기",
+            description = "모든 파라미터는 선택적. sort 는 'field' 또는 'field,desc' 형식, fields 로 응답 필드 선택 (예: id,name,energyKcal)",
+            security = @SecurityRequirement(name = "BearerAuth"))
+    public PageDTO<?> getFood(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String representativeFood,
-            @RequestParam(required = false) String majorCategory
+            @RequestParam(required = false) String majorCategory,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") List<String> sort,
+            @RequestParam(required = false) List<String> fields
     ) {
-        return foodRepository.findByDynamicConditions(name, representativeFood, majorCategory);
+        if (page < 0) {
+            throw new IllegalArgumentException("page는 0 이상이어야 합니다");
+        }
+        requirePageSize(size);
+        Page<FoodCatalogRow> rows = foodRepository.findCatalogRows(
+                name, representativeFood, majorCategory, PageRequest.of(page, size, parseSort(sort)));
+        if (fields == null || fields.isEmpty()) {
+            return PageDTO.of(rows, row -> row);
+        }
+        validateFields(fields);
+        return PageDTO.of(rows, row -> row.select(fields));
+    }
+
+    @GetMapping("/match")
+    @Operation(summary = "음식명 유사도 검색",
+            description = "음식명/대표음식명/대분류명 중 하나(field)에서 질의와 비슷한 이름을 유사도 순으로 최대 k개 가져오기",
+            security = @SecurityRequirement(name = "BearerAuth"))
+    public List<FoodNameIndex.Match> matchFoodNames(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "NAME") FoodNameMatcher.Field field,
+            @RequestParam(defaultValue = "10") int k
+    ) {
+        if (k < 1 || k > MAX_MATCH_COUNT) {
+            throw new IllegalArgumentException("k는 1 이상 " + MAX_MATCH_COUNT + " 이하여야 합니다");
+        }
+        return foodNameMatcher.search(field, q, k);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "음식명 자동완성",
+            description = "음식명/대표음식명/대분류명 중 하나(field)에서 질의로 시작하는 이름을 최대 k개 가져오기. " +
+                    "입력 중인 글자(예: 김치찍)와 초성 질의(예: ㄱㅊㅉㄱ)도 지원",
+            security = @SecurityRequirement(name = "BearerAuth"))
+    public List<String> suggestFoodNames(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "NAME") FoodNameMatcher.Field field,
+            @RequestParam(defaultValue = "10") int k
+    ) {
+        if (k < 1 || k > MAX_MATCH_COUNT) {
+            throw new IllegalArgumentException("k는 1 이상 " + MAX_MATCH_COUNT + " 이하여야 합니다");
+        }
+        return foodNameMatcher.suggest(field, q, k);
     }
 
     @GetMapping("/{foodId}")
     @Operation(summary = "주어진 ID를 가진 특정 음식 가져오기", security = @SecurityRequirement(name = "BearerAuth"))
-    public ResponseEntity<Food> getFoodById(@PathVariable long foodId) {
-        var food = foodRepository.findById(foodId);
-        return food
+    public ResponseEntity<FoodCatalogRow> getFoodById(@PathVariable long foodId) {
+        return foodRepository.findCatalogRowById(foodId)
                 .map(ResponseEntity::ok)
                 .orElseThrow(() -> new NoSuchElementException("음식을 찾을 수 없습니다: " + foodId));
     }
 
     @GetMapping("/{foodId}/users")
-    @Operation(summary = "주어진 ID를 가진 음식을 선호하는 모든 유저들 가져오기")
-    public ResponseEntity<List<User>> getUserByFoodId(@PathVariable long foodId) {
-        var food = foodRepository.findById(foodId);
-        return food
-                .map(value -> ResponseEntity.ok(value.getUsers()))
-                .orElseThrow(() -> new NoSuchElementException("음식을 찾을 수 없습니다: " + foodId));
+    @Operation(summary = "주어진 ID를 가진 음식을 선호하는 유저들 가져오기",
+            description = "유저 ID 순 커서 페이지네이션. 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지")
+    public ResponseEntity<CursorPageDTO<UserGetDTO>> getUserByFoodId(
+            @PathVariable long foodId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        requirePageSize(size);
+        if (!foodRepository.existsById(foodId)) {
+            throw new NoSuchElementException("음식을 찾을 수 없습니다: " + foodId);
+        }
+        String afterUserId = cursor == null || cursor.isBlank() ? "" : KeysetCursor.decodeKey(cursor);
+        List<User> users = userRepository.findPageByFoodId(foodId, afterUserId, PageRequest.of(0, size + 1));
+        return ResponseEntity.ok(CursorPageDTO.of(users, size,
+                user -> modelMapper.map(user, UserGetDTO.class),
+                user -> KeysetCursor.encodeKey(user.getId())));
     }
 
     @GetMapping("/{foodId}/meal-info")
-    @Operation(summary = "주어진 ID를 가진 음식을 선호하는 모든 유저들 가져오기", security = @SecurityRequirement(name = "BearerAuth"))
-    public ResponseEntity<List<MealInfo>> getMealInfoByFoodId(@PathVariable long foodId) {
-        var food = foodRepository.findById(foodId);
-        return food
-                .map(value -> ResponseEntity.ok(value.getMealInfos()))
-                .orElseThrow(() -> new NoSuchElementException("음식을 찾을 수 없습니다: " + foodId));
+    @Operation(summary = "주어진 ID를 가진 음식이 판별된 식단 정보들 가져오기",
+            description = "최신순 (식단 id 내림차순) 커서 페이지네이션. 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지",
+            security = @SecurityRequirement(name = "BearerAuth"))
+    public ResponseEntity<CursorPageDTO<MealInfoPostDTO>> getMealInfoByFoodId(
+            @PathVariable long foodId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        requirePageSize(size);
+        if (!foodRepository.existsById(foodId)) {
+            throw new NoSuchElementException("음식을 찾을 수 없습니다: " + foodId);
+        }
+        List<Long> mealInfoIds = mealInfoRepository.findPageIdsByFoodId(
+                foodId, KeysetCursor.decodeId(cursor), PageRequest.of(0, size + 1));
+        List<MealInfo> mealInfos = mealInfoRepository.findAllWithFoodLinksInOrder(mealInfoIds);
+        return ResponseEntity.ok(CursorPageDTO.of(mealInfos, size,
+                mealInfo -> modelMapper.map(mealInfo, MealInfoPostDTO.class),
+                mealInfo -> KeysetCursor.encodeId(mealInfo.getId())));
     }
 
     @PostMapping()
@@ -77,6 +166,7 @@ public class FoodController {
     public ResponseEntity<FoodDTO> createFood(@RequestBody @Valid FoodPostDTO foodPostDTO) {
         Food food = modelMapper.map(foodPostDTO, Food.class);
         food = foodRepository.save(food);
+        eventPublisher.publishEvent(new FoodCatalogChangedEvent(food.getId()));
         FoodDTO foodDTO = modelMapper.map(food, FoodDTO.class);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(foodDTO);
@@ -87,15 +177,11 @@ public class FoodController {
             description = "멱등성 - 여러번 추가해도 하나만 추가됨", security = @SecurityRequirement(name = "BearerAuth"))
     @Transactional
     public ResponseEntity<Object> createFoodMealInfoRelation(@PathVariable long foodId, @PathVariable long mealInfoId) {
-        var food = foodRepository.findById(foodId);
-        var mealInfo = mealInfoRepository.findById(mealInfoId);
-
-        if (food.isEmpty() || mealInfo.isEmpty()) {
+        if (!foodRepository.existsById(foodId) || !mealInfoRepository.existsById(mealInfoId)) {
             throw new NoSuchElementException("주어진 ID의 음식 혹은 주어진 ID의 식단정보가 없음");
-        } else {
-            food.get().addMealInfo(mealInfo.get());
-            return ResponseEntity.noContent().build();
         }
+        foodLinkService.linkMealInfo(mealInfoId, foodId, null);
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{foodId}")
@@ -106,6 +192,7 @@ public class FoodController {
 
         Food food = foodOptional.orElseThrow(() -> new NoSuchElementException("주어진 ID의 음식이 없음"));
         foodRepository.delete(food);
+        eventPublisher.publishEvent(new FoodCatalogChangedEvent(food.getId()));
 
         return ResponseEntity.noContent().build();
     }
@@ -113,14 +200,51 @@ public class FoodController {
     @DeleteMapping("/{foodId}/meal-info/{mealInfoId}")
     @Operation(summary = "주어진 ID의 음식과 주어진 ID의 식단정보 판별 관계 삭제", security = @SecurityRequirement(name = "BearerAuth"))
     public ResponseEntity<Object> deleteFoodMealInfoRelation(@PathVariable long foodId, @PathVariable long mealInfoId) {
-        var food = foodRepository.findById(foodId);
-        var mealInfo = mealInfoRepository.findById(mealInfoId);
-
-        if (food.isEmpty() || mealInfo.isEmpty()) {
+        if (!foodRepository.existsById(foodId) || !mealInfoRepository.existsById(mealInfoId)) {
             throw new NoSuchElementException("주어진 ID의 음식 혹은 주어진 ID의 식단정보가 없음");
-        } else {
-            food.get().removeMealInfo(mealInfo.get());
-            return ResponseEntity.noContent().build();
+        }
+        foodLinkService.unlinkMealInfo(mealInfoId, foodId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * "field" 또는 "field,asc|desc" 형식의 정렬 파라미터를 허용 목록(FoodCatalogRow.FIELDS)으로 검사하여 Sort 로 바꿉니다.
+     * (sort=name,desc 처럼 하나만 주면 쉼표로 나뉘어 두 값으로 들어오므로 방향 값은 앞 필드에 붙입니다)
+     */
+    private static Sort parseSort(List<String> sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String token : sort) {
+            for (String part : token.split(",")) {
+                String value = part.trim();
+                if (value.isEmpty()) continue;
+                if (value.equalsIgnoreCase("asc") || value.equalsIgnoreCase("desc")) {
+                    if (orders.isEmpty()) {
+                        throw new IllegalArgumentException("정렬 방향 앞에 필드가 필요합니다: " + value);
+                    }
+                    Sort.Order last = orders.remove(orders.size() - 1);
+                    orders.add(last.with(Sort.Direction.fromString(value)));
+                    continue;
+                }
+                if (!FoodCatalogRow.FIELDS.containsKey(value)) {
+                    throw new IllegalArgumentException("정렬할 수 없는 필드: " + value);
+                }
+                orders.add(Sort.Order.asc(value));
+            }
+        }
+        return orders.isEmpty() ? Sort.by("id") : Sort.by(orders);
+    }
+
+    private static void requirePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다");
+        }
+    }
+
+    private static void validateFields(List<String> fields) {
+        for (String field : fields) {
+            if (!FoodCatalogRow.FIELDS.containsKey(field)) {
+                throw new IllegalArgumentException("선택할 수 없는 필드: " + field);
+            }
         }
     }
 
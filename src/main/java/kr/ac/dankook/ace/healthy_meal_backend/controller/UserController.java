@@ -7,27 +7,36 @@ import jakarta.transaction.Transactional;
 import kr.ac.dankook.ace.healthy_meal_backend.action.MealInfoAction;
 import kr.ac.dankook.ace.healthy_meal_backend.dto.*;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.DailyIntake;
-import kr.ac.dankook.ace.healthy_meal_backend.entity.Food;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.MealInfo;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.User;
+import kr.ac.dankook.ace.healthy_meal_backend.event.DailyIntakeChangedEvent;
+import kr.ac.dankook.ace.healthy_meal_backend.model.AnalyzedFoods;
+import kr.ac.dankook.ace.healthy_meal_backend.model.KeysetCursor;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.DailyIntakeRepository;
-import kr.ac.dankook.ace.healthy_meal_backend.repository.FoodRepository;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.MealInfoRepository;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.UserRepository;
+import kr.ac.dankook.ace.healthy_meal_backend.security.UserPrincipalCache;
+import kr.ac.dankook.ace.healthy_meal_backend.service.DietaryScoreService;
+import kr.ac.dankook.ace.healthy_meal_backend.service.MealAnalysisJobService;
+import kr.ac.dankook.ace.healthy_meal_backend.service.MealConfirmationService;
 import kr.ac.dankook.ace.healthy_meal_backend.service.MealInfoFoodAnalyzeService;
 import kr.ac.dankook.ace.healthy_meal_backend.service.NutrientIntakeService;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @RestController
@@ -39,13 +48,19 @@ public class UserController {
     private final UserRepository userRepository;
     private final MealInfoRepository mealInfoRepository;
     private final DailyIntakeRepository dailyIntakeRepository;
-    private final FoodRepository foodRepository;
     private final ModelMapper modelMapper;
     private final MealInfoAction mealInfoAction;
     private final NutrientIntakeService nutrientIntakeService;
+    private final MealConfirmationService mealConfirmationService;
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final LocalDateTime MEAL_INFO_EPOCH = LocalDateTime.of(1000, 1, 1, 0, 0); // MySQL DATETIME 최솟값
     private final MealInfoFoodAnalyzeService mealInfoFoodAnalyzeService;
+    private final MealAnalysisJobService mealAnalysisJobService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final DietaryScoreService dietaryScoreService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @GetMapping("/{userId}")
     @Operation(summary = "주어진 ID를 가진 특정 유저 가져오기", security = @SecurityRequirement(name = "BearerAuth"))
@@ -63,36 +78,50 @@ public class UserController {
             throw new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId);
         }
         userRepository.deleteById(userId);
+        userPrincipalCache.evict(userId);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{userId}/meal-info")
-    @Operation(summary = "주어진 ID의 유저가 기록한 모든 식단 정보 가져오기", security = @SecurityRequirement(name = "BearerAuth"))
-    public ResponseEntity<List<MealInfoPostDTO>> getMealInfo(
+    @Operation(summary = "주어진 ID의 유저가 기록한 식단 정보 가져오기",
+            description = "최신순 (createdAt, id) 커서 페이지네이션. date 를 주면 그 날짜의 식단만, 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지",
+            security = @SecurityRequirement(name = "BearerAuth"))
+    public ResponseEntity<CursorPageDTO<MealInfoPostDTO>> getMealInfo(
             @PathVariable String userId,
             @RequestParam(value = "date", required = false)
-            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
     ) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다");
+        }
         if (!userRepository.existsById(userId)) {
             throw new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId);
         }
-        List<MealInfo> mealInfos = mealInfoRepository.findByUserIdAndCreatedDate(userId, date);
-        List<MealInfoPostDTO> mealInfoPostDTOs = mealInfos.stream()
-                .map(mealInfo -> modelMapper.map(mealInfo, MealInfoPostDTO.class)).toList();
-        return ResponseEntity.ok().body(mealInfoPostDTOs);
+        // 날짜 조건은 DATE(created_at) 대신 [date, date+1) 범위로 걸어 인덱스를 그대로 탐
+        LocalDateTime from = date == null ? MEAL_INFO_EPOCH : date.atStartOfDay();
+        KeysetCursor after = cursor == null || cursor.isBlank()
+                ? (date == null ? KeysetCursor.START : KeysetCursor.before(date.plusDays(1).atStartOfDay()))
+                : KeysetCursor.decode(cursor);
+        List<MealInfo> page = mealInfoRepository.findPageByUserId(
+                userId, from, after.createdAt(), after.id(), PageRequest.of(0, size + 1));
+        // 응답 변환 시 식단마다 음식 연결을 따로 읽지 않도록 한 번에 읽음
+        List<MealInfo> mealInfos = mealInfoRepository.findAllWithFoodLinksInOrder(page.stream().map(MealInfo::getId).toList());
+        return ResponseEntity.ok(CursorPageDTO.of(mealInfos, size,
+                mealInfo -> modelMapper.map(mealInfo, MealInfoPostDTO.class),
+                mealInfo -> new KeysetCursor(mealInfo.getCreatedAt(), mealInfo.getId()).encode()));
     }
 
     @PostMapping(value = "/{userId}/meal-info", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "주어진 정보로 주어진 ID의 유저가 식단정보 기록", security = @SecurityRequirement(name = "BearerAuth"))
-    @Transactional
     public ResponseEntity<MealInfoPostDTO> createMealInfo(
             @PathVariable String userId,
             @RequestPart("img") MultipartFile file
     ) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId));
         logger.info("식단사진저장 <시작>");
-        MealInfo mealInfo = mealInfoAction.createMealInfo(file, user);
+        // 이미지 처리가 끝난 뒤에 유저 조회와 식단 INSERT 만 트랜잭션으로 실행
+        MealInfo mealInfo = mealInfoAction.createMealInfo(file, userId);
         MealInfoPostDTO mealInfoPostDTO = modelMapper.map(mealInfo, MealInfoPostDTO.class);
         logger.info("식단사진저장 <완료>");
         return ResponseEntity.status(HttpStatus.CREATED).body(mealInfoPostDTO);
@@ -105,41 +134,42 @@ public class UserController {
     @Transactional
     public ResponseEntity<FoodResponseDTO> analyzeMealInfo(@PathVariable String userId,
                                                         @PathVariable Long mealInfoId) {
-        List<String> foodResult = mealInfoAction.analyzeMealInfo(mealInfoId, userId);
+        AnalyzedFoods foodResult = mealInfoAction.analyzeMealInfo(mealInfoId, userId);
         List<Integer> foodWeight = mealInfoFoodAnalyzeService.getFoodWeight(foodResult);
-        FoodResponseDTO foodResponseDTO = new FoodResponseDTO(foodResult, foodWeight);
+        FoodResponseDTO foodResponseDTO = new FoodResponseDTO(foodResult.names(), foodWeight);
         return ResponseEntity.status(HttpStatus.CREATED).body(foodResponseDTO);
     }
 
+    @PostMapping("/{userId}/meal-info/{mealInfoId}/analyze-jobs")
+    @Operation(
+            summary = "주어진 ID의 유저가 기록한 주어진 ID의 식단 정보를 gpt가 비동기로 분석",
+            description = "작업 ID를 바로 반환, 진행상황은 폴링 또는 SSE 구독으로 확인", security = @SecurityRequirement(name = "BearerAuth"))
+    public ResponseEntity<AnalysisJobDTO> createAnalysisJob(@PathVariable String userId,
+                                                            @PathVariable Long mealInfoId) {
+        AnalysisJobDTO analysisJobDTO = mealAnalysisJobService.submit(mealInfoId, userId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(analysisJobDTO);
+    }
+
+    @GetMapping("/{userId}/analyze-jobs/{jobId}")
+    @Operation(summary = "주어진 ID의 유저의 식단 분석 작업 상태 가져오기", security = @SecurityRequirement(name = "BearerAuth"))
+    public ResponseEntity<AnalysisJobDTO> getAnalysisJob(@PathVariable String userId, @PathVariable String jobId) {
+        return ResponseEntity.ok(mealAnalysisJobService.getJob(jobId, userId));
+    }
+
+    @GetMapping(value = "/{userId}/analyze-jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "주어진 ID의 유저의 식단 분석 작업 단계별 진행상황 구독 (SSE)", security = @SecurityRequirement(name = "BearerAuth"))
+    public SseEmitter subscribeAnalysisJob(@PathVariable String userId, @PathVariable String jobId) {
+        return mealAnalysisJobService.subscribe(jobId, userId);
+    }
+
     @PatchMapping("/{userId}/meal-info/{mealInfoId}")
     @Operation(summary = "주어진 ID의 유저가 기록한 주어진 ID의 식단 정보 기록/수정", security = @SecurityRequirement(name = "BearerAuth"))
     @Transactional
     public ResponseEntity<MealInfoPostDTO> updateMealInfo(
             @PathVariable String userId, @PathVariable Long mealInfoId,
             @RequestBody UpdateMealInfoRequestDTO updateMealInfoRequestDTO) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId));
-        MealInfo mealInfo = user.getMealInfos().stream()
-                .filter(mf -> Objects.equals(mf.getId(), mealInfoId))
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("식단 정보를 찾을 수 없습니다: " + mealInfoId));
-        if(updateMealInfoRequestDTO.getIntakeAmounts().size() != updateMealInfoRequestDTO.getConfirmedFoods().size()) {
-            throw new IllegalArgumentException("섭취량과 음식 리스트 길이가 맞지 않음");
-        }
-
-        mealInfo.getFoods().clear();
-
-        for(var i=0; i < updateMealInfoRequestDTO.getConfirmedFoods().size(); i++) {
-            String foodName = updateMealInfoRequestDTO.getConfirmedFoods().get(i);
-            Food food = foodRepository.findFirstByName(foodName)
-                    .orElseThrow(() -> new IllegalArgumentException(foodName + " 에 해당하는 음식이 없음"));
-            mealInfo.addFoodLink(food, updateMealInfoRequestDTO.getIntakeAmounts().get(i));
-        }
-
-        mealInfo.setDiary(updateMealInfoRequestDTO.getDiary());
-
-        // 섭취 식단에 따른 영양소 섭취량 계산 -> DailyIntake Update
-        nutrientIntakeService.applyInsertDailyIntake(mealInfo, user);
+        // 확정된 음식 목록으로 연결을 교체 (남는 음식은 섭취량 갱신, 빠진 음식은 연결 제거) 후 섭취량 반영
+        MealInfo mealInfo = mealConfirmationService.confirm(userId, mealInfoId, updateMealInfoRequestDTO);
 
         MealInfoPostDTO mealInfoPostDTO = modelMapper.map(mealInfo, MealInfoPostDTO.class);
         return ResponseEntity.ok(mealInfoPostDTO);
@@ -149,11 +179,10 @@ public class UserController {
     @Operation(summary = "주어진 ID의 유저가 기록한 주어진 ID의 식단 정보 가져오기", security = @SecurityRequirement(name = "BearerAuth"))
     public ResponseEntity<MealInfoPostDTO> getMealInfo(
             @PathVariable String userId, @PathVariable Long mealInfoId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId));
-        MealInfo mealInfo = user.getMealInfos().stream()
-                .filter(mf -> Objects.equals(mf.getId(), mealInfoId))
-                .findFirst()
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId);
+        }
+        MealInfo mealInfo = mealInfoRepository.findByIdAndUserId(mealInfoId, userId)
                 .orElseThrow(() -> new NoSuchElementException("식단 정보를 찾을 수 없습니다: " + mealInfoId));
         return ResponseEntity.ok(modelMapper.map(mealInfo, MealInfoPostDTO.class));
     }
@@ -202,7 +231,46 @@ public class UserController {
             throw new NoSuchElementException("유저 " + userId + "의 일별섭취기록을 찾을 수 없습니다: " + dailyIntakeId);
         }
         dailyIntakeRepository.deleteById(dailyIntakeId);
+        eventPublisher.publishEvent(new DailyIntakeChangedEvent(userId, null));
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{userId}/daily-intake/rebuild")
+    @Operation(summary = "주어진 ID의 유저의 기간 내 일별섭취기록을 섭취 원장으로부터 재구성",
+            description = "원장 기록이 있는 날짜만 재구성하며 재구성한 날짜 수를 반환", security = @SecurityRequirement(name = "BearerAuth"))
+    public ResponseEntity<Integer> rebuildDailyIntake(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId);
+        }
+        return ResponseEntity.ok(nutrientIntakeService.rebuildDailyIntakes(userId, from, to));
+    }
+
+    @GetMapping("/{userId}/daily-intake/scores")
+    @Operation(summary = "주어진 ID의 유저의 기간 내 일별 식단 점수 가져오기",
+            description = "서버에서 계산한 점수를 반환 (캐시됨, 저장된 점수는 갱신하지 않음 - 갱신은 recompute 사용)", security = @SecurityRequirement(name = "BearerAuth"))
+    public ResponseEntity<List<DailyScoreDTO>> getDailyScores(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId);
+        }
+        return ResponseEntity.ok(dietaryScoreService.getScores(userId, from, to));
+    }
+
+    @PostMapping("/{userId}/daily-intake/scores/recompute")
+    @Operation(summary = "주어진 ID의 유저의 기간 내 일별 식단 점수 재계산", security = @SecurityRequirement(name = "BearerAuth"))
+    public ResponseEntity<List<DailyScoreDTO>> recomputeDailyScores(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId);
+        }
+        return ResponseEntity.ok(dietaryScoreService.recomputeScores(userId, from, to));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package kr.ac.dankook.ace.healthy_meal_backend.dto;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.AnalysisJob;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisJobStatus;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisStage;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class AnalysisJobDTO {
+    private String jobId;
+    private Long mealInfoId;
+    private AnalysisJobStatus status;
+    private AnalysisStage stage;
+    private Map<AnalysisStage, List<String>> stageResults;
+    private List<String> foodResult;
+    private List<Integer> foodWeight;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static AnalysisJobDTO from(AnalysisJob job) {
+        synchronized (job) {
+            return new AnalysisJobDTO(
+                    job.getId(),
+                    job.getMealInfoId(),
+                    job.getStatus(),
+                    job.getStage(),
+                    job.getStageResults(),
+                    job.getFoodResult(),
+                    job.getFoodWeight(),
+                    job.getError(),
+                    job.getCreatedAt(),
+                    job.getUpdatedAt()
+            );
+        }
+    }
+}
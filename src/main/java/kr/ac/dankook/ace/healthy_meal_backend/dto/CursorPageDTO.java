@@ -0,0 +1,25 @@
+package kr.ac.dankook.ace.healthy_meal_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private String nextCursor; // 마지막 페이지면 null
+    private boolean hasNext;
+
+    /**
+     * size + 1 개까지 읽은 행으로 페이지를 만듭니다. 초과분이 있으면 size 번째 행으로 다음 커서를 만듭니다.
+     */
+    public static <S, T> CursorPageDTO<T> of(List<S> fetched, int size, Function<S, T> mapper, Function<S, String> cursorOf) {
+        boolean hasNext = fetched.size() > size;
+        List<S> rows = hasNext ? fetched.subList(0, size) : fetched;
+        String nextCursor = hasNext ? cursorOf.apply(rows.get(rows.size() - 1)) : null;
+        return new CursorPageDTO<>(rows.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
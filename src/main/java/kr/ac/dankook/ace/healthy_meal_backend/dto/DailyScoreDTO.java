@@ -0,0 +1,14 @@
+package kr.ac.dankook.ace.healthy_meal_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class DailyScoreDTO {
+    private Integer dailyIntakeId;
+    private LocalDate day;
+    private Integer score;      // 생일/성별 또는 섭취 기준이 없어 계산할 수 없으면 null
+}
@@ -1,5 +1,6 @@
 package kr.ac.dankook.ace.healthy_meal_backend.dto;
 
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -8,13 +9,21 @@ import java.util.List;
 @Data
 @AllArgsConstructor
 public class DietCriterionWeightDTO {
+    @NotNull
     private Integer energyKcalWeight;
+    @NotNull
     private Integer carbohydrateGWeight;
+    @NotNull
     private Integer fatGWeight;
+    @NotNull
     private Integer proteinGWeight;
+    @NotNull
     private Integer celluloseGWeight;
+    @NotNull
     private Integer sugarsGWeight;
+    @NotNull
     private Integer sodiumMgWeight;
+    @NotNull
     private Integer cholesterolMgWeight;
 
     public List<Integer> toList() {
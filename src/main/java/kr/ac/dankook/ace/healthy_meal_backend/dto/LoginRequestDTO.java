@@ -1,10 +1,12 @@
 package kr.ac.dankook.ace.healthy_meal_backend.dto;
 
 import lombok.Data;
+import lombok.ToString;
 
 @Data
 public class LoginRequestDTO {
     private String id;
+    @ToString.Exclude
     private String password;
     
 }
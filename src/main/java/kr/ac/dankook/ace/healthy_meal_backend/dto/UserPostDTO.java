@@ -1,6 +1,7 @@
 package kr.ac.dankook.ace.healthy_meal_backend.dto;
 
 import lombok.Data;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
@@ -11,6 +12,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 @NoArgsConstructor
 public class UserPostDTO {
     private String id;
+    @ToString.Exclude
     private String hashedPassword;
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate birthday;
@@ -4,7 +4,6 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 @Entity
@@ -70,39 +69,13 @@ public class Food {
     @OneToMany(mappedBy = "food", cascade = CascadeType.ALL)
     private List<MealInfoFoodLink> mealInfoFoodLinks = new ArrayList<>();
 
+    // 음식 쪽 연결 목록은 매우 클 수 있으므로 식단 쪽(작은 컬렉션)에서 중복 확인 및 추가
     public void addMealInfo(MealInfo mealInfo) {
-        // 이미 연결된 경우 중복 추가 방지
-        for (MealInfoFoodLink link : mealInfoFoodLinks) {
-            if (link.getMealInfo().getId().equals(mealInfo.getId())) {
-                return; // 이미 연결되어 있으면 종료
-            }
-        }
-
-        MealInfoFoodLink link = new MealInfoFoodLink();
-        MealInfoFoodLinkId linkId = new MealInfoFoodLinkId();
-        linkId.setFoodId(this.id);
-        linkId.setMealInfoId(mealInfo.getId());
-
-        link.setId(linkId);
-        link.setFood(this);
-        link.setMealInfo(mealInfo);
-
-        this.mealInfoFoodLinks.add(link);
-        mealInfo.getMealInfoFoodLinks().add(link);
+        mealInfo.addFoodLink(this, null);
     }
 
     public void removeMealInfo(MealInfo mealInfo) {
-        Iterator<MealInfoFoodLink> iterator = this.mealInfoFoodLinks.iterator();
-
-        while (iterator.hasNext()) {
-            MealInfoFoodLink link = iterator.next();
-
-            if (link.getMealInfo().equals(mealInfo)) {
-                // 양쪽 컬렉션에서 제거
-                iterator.remove(); // Food 쪽 컬렉션에서 제거
-                mealInfo.getMealInfoFoodLinks().remove(link); // MealInfo 쪽 컬렉션에서 제거
-            }
-        }
+        mealInfo.removeFood(this);
     }
 
     public List<MealInfo> getMealInfos() {
@@ -117,40 +90,14 @@ public class Food {
     @OneToMany(mappedBy = "food", fetch = FetchType.LAZY)
     private List<UserFoodLink> userFoodLinks = new ArrayList<>();
 
-    // 추가: User 추가 메소드
+    // 추가: User 추가 메소드 (유저 쪽 컬렉션에서 중복 확인 및 추가)
     public void addUser(User user) {
-        // 이미 연결된 경우 중복 추가 방지
-        for (UserFoodLink link : userFoodLinks) {
-            if (link.getUser().getId().equals(user.getId())) {
-                return; // 이미 연결되어 있으면 종료
-            }
-        }
-
-        UserFoodLink link = new UserFoodLink();
-        UserFoodLinkId linkId = new UserFoodLinkId();
-        linkId.setFoodId(this.id);
-        linkId.setUserId(user.getId());
-
-        link.setId(linkId);
-        link.setFood(this);
-        link.setUser(user);
-
-        this.userFoodLinks.add(link);
-        user.getUserFoodLinks().add(link);
+        user.addFood(this);
     }
 
     // 추가: User 제거 메소드
     public void removeUser(User user) {
-        Iterator<UserFoodLink> iterator = this.userFoodLinks.iterator();
-
-        while (iterator.hasNext()) {
-            UserFoodLink link = iterator.next();
-
-            if (link.getUser().equals(user)) {
-                iterator.remove(); // Food 쪽 컬렉션에서 제거
-                user.getUserFoodLinks().remove(link); // User 쪽 컬렉션에서 제거
-            }
-        }
+        user.removeFood(this);
     }
 
     // 음식을 선호하는 모든 유저 반환
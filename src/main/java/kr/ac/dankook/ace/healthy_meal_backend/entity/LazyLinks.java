@@ -0,0 +1,30 @@
+package kr.ac.dankook.ace.healthy_meal_backend.entity;
+
+import org.hibernate.Hibernate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 연결 엔티티(MealInfoFoodLink, UserFoodLink)를 양쪽 컬렉션에 맞춰 줄 때 쓰는 도우미입니다.
+ * 이미 읽어 온 컬렉션에만 추가/제거하고, 초기화되지 않은 프록시나 지연 로딩 컬렉션은 건드리지 않습니다.
+ * 연결 하나를 바꾸려고 인기 음식의 전체 연결 목록을 읽지 않게 하기 위함이며, DB 반영은 연결 엔티티의 persist/delete 로 이루어집니다.
+ */
+public final class LazyLinks {
+
+    private LazyLinks() {
+    }
+
+    // 프록시가 초기화되지 않았으면 컬렉션 getter 를 부르지 않음 (부르는 순간 엔티티 SELECT 가 나감)
+    public static <T> void addIfLoaded(Object owner, Supplier<List<T>> links, T link) {
+        if (Hibernate.isInitialized(owner) && Hibernate.isInitialized(links.get())) {
+            links.get().add(link);
+        }
+    }
+
+    public static <T> void removeIfLoaded(Object owner, Supplier<List<T>> links, T link) {
+        if (Hibernate.isInitialized(owner) && Hibernate.isInitialized(links.get())) {
+            links.get().remove(link);
+        }
+    }
+}
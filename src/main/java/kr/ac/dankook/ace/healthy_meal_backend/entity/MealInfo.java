@@ -12,12 +12,15 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.ArrayList;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "meal_info")
+@Table(name = "meal_info", indexes = {
+        @Index(name = "idx_meal_info_user_created", columnList = "user_id, created_at, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class MealInfo {
     @Id
@@ -46,7 +49,7 @@ public class MealInfo {
     private User user; // 식단 정보를 기록한 유저
 
     // Food와의 판별 다대다 연관관계
-    @OneToMany(mappedBy = "mealInfo", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "mealInfo", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<MealInfoFoodLink> mealInfoFoodLinks = new ArrayList<>();
 
     // 연관관계 편의 메서드
@@ -58,18 +61,36 @@ public class MealInfo {
             }
         }
 
-        MealInfoFoodLink link = new MealInfoFoodLink();
-        MealInfoFoodLinkId linkId = new MealInfoFoodLinkId();
-        linkId.setMealInfoId(this.id);
-        linkId.setFoodId(food.getId());
+        MealInfoFoodLink link = MealInfoFoodLink.of(this, food, intakeAmount);
+        this.mealInfoFoodLinks.add(link);
+        LazyLinks.addIfLoaded(food, food::getMealInfoFoodLinks, link);
+    }
 
-        link.setId(linkId);
-        link.setMealInfo(this);
-        link.setFood(food);
-        link.setIntakeAmount(intakeAmount);
+    /**
+     * 음식이 이미 연결되어 있으면 섭취량만 바꾸고, 없으면 새로 연결합니다.
+     */
+    public void putFoodLink(Food food, Float intakeAmount) {
+        for (MealInfoFoodLink link : mealInfoFoodLinks) {
+            if (link.getFood().getId().equals(food.getId())) {
+                link.setIntakeAmount(intakeAmount);
+                return;
+            }
+        }
+        addFoodLink(food, intakeAmount);
+    }
 
-        this.mealInfoFoodLinks.add(link);
-        food.getMealInfoFoodLinks().add(link);
+    /**
+     * 주어진 음식 ID 에 없는 연결을 제거합니다. (orphanRemoval 로 meal_info_food_link 행도 삭제됨)
+     */
+    public void retainFoods(Set<Long> foodIds) {
+        Iterator<MealInfoFoodLink> iterator = this.mealInfoFoodLinks.iterator();
+        while (iterator.hasNext()) {
+            MealInfoFoodLink link = iterator.next();
+            if (!foodIds.contains(link.getFood().getId())) {
+                iterator.remove();
+                LazyLinks.removeIfLoaded(link.getFood(), link.getFood()::getMealInfoFoodLinks, link);
+            }
+        }
     }
 
     public List<MealInfoFoodLink> getFoodLink() {
@@ -85,7 +106,7 @@ public class MealInfo {
             if (link.getFood().equals(food)) {
                 // 양쪽 컬렉션에서 제거
                 iterator.remove(); // MealInfo 쪽 컬렉션에서 제거
-                food.getMealInfoFoodLinks().remove(link); // Food 쪽 컬렉션에서 제거
+                LazyLinks.removeIfLoaded(food, food::getMealInfoFoodLinks, link); // Food 쪽 컬렉션은 읽어 온 경우에만 제거
             }
         }
     }
@@ -9,7 +9,9 @@ import org.hibernate.annotations.OnDeleteAction;
 @Getter
 @Setter
 @Entity
-@Table(name = "meal_info_food_link")
+@Table(name = "meal_info_food_link", indexes = {
+        @Index(name = "idx_meal_info_food_link_food", columnList = "food_id, meal_info_id")
+})
 public class MealInfoFoodLink {
     @EmbeddedId
     private MealInfoFoodLinkId id;
@@ -29,4 +31,13 @@ public class MealInfoFoodLink {
     @Column(name = "intake_amount")
     private Float intakeAmount;
 
+    public static MealInfoFoodLink of(MealInfo mealInfo, Food food, Float intakeAmount) {
+        MealInfoFoodLink link = new MealInfoFoodLink();
+        link.setId(MealInfoFoodLinkId.of(mealInfo.getId(), food.getId()));
+        link.setMealInfo(mealInfo);
+        link.setFood(food);
+        link.setIntakeAmount(intakeAmount);
+        return link;
+    }
+
 }
\ No newline at end of file
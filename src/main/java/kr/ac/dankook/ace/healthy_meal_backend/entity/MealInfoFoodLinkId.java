@@ -23,6 +23,13 @@ public class MealInfoFoodLinkId implements Serializable {
     @Column(name = "food_id", nullable = false)
     private Long foodId;
 
+    public static MealInfoFoodLinkId of(Long mealInfoId, Long foodId) {
+        MealInfoFoodLinkId id = new MealInfoFoodLinkId();
+        id.setMealInfoId(mealInfoId);
+        id.setFoodId(foodId);
+        return id;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,69 @@
+package kr.ac.dankook.ace.healthy_meal_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 식단의 음식(MealInfoFoodLink = 식단 ID + 음식 ID)별 영양소 섭취 기여분을 기록하는 추가 전용 원장입니다.
+ * 식단이 확정/수정/삭제될 때마다 이전 기여분과의 차이(음수 가능)만 새 행으로 추가하며, 기존 행은 수정하지 않습니다.
+ * 한 식단 음식의 현재 기여분은 행들의 합이고, 하루 섭취량(daily_intake)은 그 날짜 행들의 합으로 언제든 다시 만들 수 있습니다.
+ * 식단이 삭제되어도 원장은 남도록 연관관계 대신 ID 컬럼만 둡니다.
+ * 행은 NutrientIntakeService 가 JDBC batch insert 로만 쓰고 읽으므로, 이 엔티티는 테이블 정의용입니다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "meal_intake_ledger", indexes = {
+        @Index(name = "idx_meal_intake_ledger_meal_info", columnList = "meal_info_id"),
+        @Index(name = "idx_meal_intake_ledger_user_day", columnList = "user_id, day")
+})
+public class MealIntakeLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "meal_info_id", nullable = false)
+    private Long mealInfoId;
+
+    @Column(name = "food_id", nullable = false)
+    private Long foodId;
+
+    @Column(name = "energy_kcal", nullable = false)
+    private double energyKcal;
+
+    @Column(name = "protein_g", nullable = false)
+    private double proteinG;
+
+    @Column(name = "fat_g", nullable = false)
+    private double fatG;
+
+    @Column(name = "carbohydrate_g", nullable = false)
+    private double carbohydrateG;
+
+    @Column(name = "sugars_g", nullable = false)
+    private double sugarsG;
+
+    @Column(name = "cellulose_g", nullable = false)
+    private double celluloseG;
+
+    @Column(name = "sodium_mg", nullable = false)
+    private double sodiumMg;
+
+    @Column(name = "cholesterol_mg", nullable = false)
+    private double cholesterolMg;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,155 @@
+package kr.ac.dankook.ace.healthy_meal_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.NutrientType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * 사용자별 영양소 가중치(백분율 정수 8개)를 user 테이블의 고정 컬럼으로 저장하는 임베디드 타입입니다.
+ * 기존 critweight 문자열을 대신하며, 점수 계산 경로에서는 {@link #toMultipliers()} 로 문자열 파싱 없이 배율 배열을 얻습니다.
+ * 컬럼이 모두 비어 있는 기존 사용자는 {@link #parse(String)} 로 critweight 에서 읽습니다.
+ */
+@Getter
+@Embeddable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NutrientWeights {
+
+    public static final int DEFAULT_PERCENT = 100;
+
+    /** critweight 문자열 및 DTO 의 값 순서 (에너지, 탄수화물, 지방, 단백질, 식이섬유, 당류, 나트륨, 콜레스테롤) */
+    private static final NutrientType[] CRITWEIGHT_ORDER = {
+            NutrientType.ENERGY, NutrientType.CARBOHYDRATE, NutrientType.FAT, NutrientType.PROTEIN,
+            NutrientType.CELLULOSE, NutrientType.SUGARS, NutrientType.SODIUM, NutrientType.CHOLESTEROL
+    };
+
+    @Column(name = "weight_energy_kcal")
+    private Integer energyKcal;
+
+    @Column(name = "weight_carbohydrate_g")
+    private Integer carbohydrateG;
+
+    @Column(name = "weight_fat_g")
+    private Integer fatG;
+
+    @Column(name = "weight_protein_g")
+    private Integer proteinG;
+
+    @Column(name = "weight_cellulose_g")
+    private Integer celluloseG;
+
+    @Column(name = "weight_sugars_g")
+    private Integer sugarsG;
+
+    @Column(name = "weight_sodium_mg")
+    private Integer sodiumMg;
+
+    @Column(name = "weight_cholesterol_mg")
+    private Integer cholesterolMg;
+
+    /**
+     * 백분율 값들로 가중치를 만듭니다. 값 순서는 critweight 와 같습니다.
+     */
+    public static NutrientWeights ofPercents(int energyKcal, int carbohydrateG, int fatG, int proteinG,
+                                            int celluloseG, int sugarsG, int sodiumMg, int cholesterolMg) {
+        NutrientWeights weights = new NutrientWeights();
+        weights.energyKcal = energyKcal;
+        weights.carbohydrateG = carbohydrateG;
+        weights.fatG = fatG;
+        weights.proteinG = proteinG;
+        weights.celluloseG = celluloseG;
+        weights.sugarsG = sugarsG;
+        weights.sodiumMg = sodiumMg;
+        weights.cholesterolMg = cholesterolMg;
+        return weights;
+    }
+
+    public static NutrientWeights defaults() {
+        return ofPercents(DEFAULT_PERCENT, DEFAULT_PERCENT, DEFAULT_PERCENT, DEFAULT_PERCENT,
+                DEFAULT_PERCENT, DEFAULT_PERCENT, DEFAULT_PERCENT, DEFAULT_PERCENT);
+    }
+
+    /**
+     * 기존 critweight 문자열(공백으로 구분된 백분율 8개)을 읽습니다. 정수 부분만 사용하며, 없는 값은 100% 로 봅니다.
+     */
+    public static NutrientWeights parse(String critweight) {
+        int[] percents = new int[CRITWEIGHT_ORDER.length];
+        Arrays.fill(percents, DEFAULT_PERCENT);
+        if (critweight != null && !critweight.isBlank()) {
+            String[] values = critweight.trim().split("\\s+");
+            for (int i = 0; i < percents.length && i < values.length; i++) {
+                percents[i] = (int) Float.parseFloat(values[i]);
+            }
+        }
+        return ofPercents(percents[0], percents[1], percents[2], percents[3],
+                percents[4], percents[5], percents[6], percents[7]);
+    }
+
+    /**
+     * 저장된 가중치가 완전하면 그대로, 아니면 기존 critweight 문자열에서 읽은 값을 반환합니다.
+     */
+    public static NutrientWeights resolve(NutrientWeights stored, String critweight) {
+        return stored != null && stored.isComplete() ? stored : parse(critweight);
+    }
+
+    /**
+     * 8개 컬럼이 모두 채워져 있는지 여부입니다. 일부만 채워진 행은 critweight 로 대체합니다.
+     */
+    public boolean isComplete() {
+        return energyKcal != null && carbohydrateG != null && fatG != null && proteinG != null
+                && celluloseG != null && sugarsG != null && sodiumMg != null && cholesterolMg != null;
+    }
+
+    public int percentOf(NutrientType type) {
+        Integer value = switch (type) {
+            case ENERGY -> energyKcal;
+            case CARBOHYDRATE -> carbohydrateG;
+            case FAT -> fatG;
+            case PROTEIN -> proteinG;
+            case CELLULOSE -> celluloseG;
+            case SUGARS -> sugarsG;
+            case SODIUM -> sodiumMg;
+            case CHOLESTEROL -> cholesterolMg;
+        };
+        return value == null ? DEFAULT_PERCENT : value;
+    }
+
+    /**
+     * NutrientType ordinal 순서의 배율(백분율 / 100) 배열을 반환합니다.
+     */
+    public float[] toMultipliers() {
+        NutrientType[] types = NutrientType.values();
+        float[] multipliers = new float[types.length];
+        for (NutrientType type : types) {
+            multipliers[type.ordinal()] = percentOf(type) / 100f;
+        }
+        return multipliers;
+    }
+
+    /**
+     * critweight 와 같은 순서의 백분율 값 목록입니다.
+     */
+    public int[] toPercents() {
+        int[] percents = new int[CRITWEIGHT_ORDER.length];
+        for (int i = 0; i < CRITWEIGHT_ORDER.length; i++) {
+            percents[i] = percentOf(CRITWEIGHT_ORDER[i]);
+        }
+        return percents;
+    }
+
+    /**
+     * 기존 critweight 문자열 형식으로 바꿉니다. (하위 호환용으로 함께 저장)
+     */
+    public String toCritweight() {
+        StringBuilder sb = new StringBuilder();
+        for (int percent : toPercents()) {
+            if (!sb.isEmpty()) sb.append(' ');
+            sb.append(percent);
+        }
+        return sb.toString();
+    }
+}
@@ -28,7 +28,10 @@ public class User {
     private Character gender;
 
     @Column(name = "critweight")
-    private String critweight;
+    private String critweight; // 하위 호환용. nutrientWeights 컬럼이 비어 있는 기존 사용자만 읽음
+
+    @Embedded
+    private NutrientWeights nutrientWeights;
 
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     private List<NutriWeight> nutriWeights = new ArrayList<>(); // 유저가 설정한 가중치들
@@ -81,22 +84,14 @@ public class User {
     public void addFood(Food food) {
         // 이미 연결된 경우 중복 추가 방지
         for (UserFoodLink link : userFoodLinks) {
-            if (link.getFood().getId().intValue() == food.getId().intValue()) {
+            if (link.getFood().getId().equals(food.getId())) {
                 return; // 이미 연결되어 있으면 종료
             }
         }
 
-        UserFoodLink link = new UserFoodLink();
-        UserFoodLinkId linkId = new UserFoodLinkId();
-        linkId.setUserId(this.id);
-        linkId.setFoodId(food.getId());
-
-        link.setId(linkId);
-        link.setUser(this);
-        link.setFood(food);
-
+        UserFoodLink link = UserFoodLink.of(this, food);
         this.userFoodLinks.add(link);
-        food.getUserFoodLinks().add(link);
+        LazyLinks.addIfLoaded(food, food::getUserFoodLinks, link);
     }
 
     // Food 제거 메소드
@@ -108,7 +103,7 @@ public class User {
 
             if (link.getFood().equals(food)) {
                 iterator.remove();  // User 쪽 컬렉션에서 제거
-                food.getUserFoodLinks().remove(link);  // Food 쪽 컬렉션에서도 제거
+                LazyLinks.removeIfLoaded(food, food::getUserFoodLinks, link);  // Food 쪽 컬렉션은 읽어 온 경우에만 제거
             }
         }
     }
@@ -123,6 +118,18 @@ public class User {
     }
 
     public void updateCritweight(String critwegith) {
-        this.critweight = critwegith;
+        updateNutrientWeights(NutrientWeights.parse(critwegith));
+    }
+
+    /**
+     * 영양소 가중치를 반환합니다. 가중치 컬럼이 비어 있으면 기존 critweight 문자열에서 읽습니다.
+     */
+    public NutrientWeights getNutrientWeights() {
+        return NutrientWeights.resolve(nutrientWeights, critweight);
+    }
+
+    public void updateNutrientWeights(NutrientWeights nutrientWeights) {
+        this.nutrientWeights = nutrientWeights;
+        this.critweight = nutrientWeights.toCritweight();
     }
 }
\ No newline at end of file
@@ -9,7 +9,9 @@ import org.hibernate.annotations.OnDeleteAction;
 @Getter
 @Setter
 @Entity
-@Table(name = "user_food_link")
+@Table(name = "user_food_link", indexes = {
+        @Index(name = "idx_user_food_link_food_user", columnList = "food_id, user_id")
+})
 public class UserFoodLink {
     @EmbeddedId
     private UserFoodLinkId id;
@@ -26,4 +28,12 @@ public class UserFoodLink {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    public static UserFoodLink of(User user, Food food) {
+        UserFoodLink link = new UserFoodLink();
+        link.setId(UserFoodLinkId.of(user.getId(), food.getId()));
+        link.setUser(user);
+        link.setFood(food);
+        return link;
+    }
+
 }
\ No newline at end of file
@@ -23,6 +23,13 @@ public class UserFoodLinkId implements Serializable {
     @Column(name = "user_id", nullable = false)
     private String userId;
 
+    public static UserFoodLinkId of(String userId, Long foodId) {
+        UserFoodLinkId id = new UserFoodLinkId();
+        id.setUserId(userId);
+        id.setFoodId(foodId);
+        return id;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,13 @@
+package kr.ac.dankook.ace.healthy_meal_backend.event;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자의 일별 섭취 기록(daily_intake) 또는 점수 계산에 쓰이는 값(가중치 등)이 바뀌었음을 알리는 이벤트입니다.
+ * 일별 점수 캐시는 이 이벤트를 받아 해당 사용자의 항목을 제거합니다.
+ *
+ * @param userId 사용자 ID
+ * @param day 변경된 날짜, 날짜와 무관한 변경(가중치 등)이면 null
+ */
+public record DailyIntakeChangedEvent(String userId, LocalDate day) {
+}
@@ -0,0 +1,10 @@
+package kr.ac.dankook.ace.healthy_meal_backend.event;
+
+/**
+ * 음식 카탈로그(food 테이블)가 추가/삭제로 변경되었음을 알리는 이벤트입니다.
+ * 카탈로그 기반 인메모리 인덱스들은 이 이벤트를 받아 스냅샷을 다시 만듭니다.
+ *
+ * @param foodId 변경된 음식 ID
+ */
+public record FoodCatalogChangedEvent(Long foodId) {
+}
@@ -0,0 +1,92 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisJobStatus;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisStage;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 비동기 식단 분석 작업 1건의 상태를 메모리에 보관하는 클래스입니다.
+ * 분석 스레드와 조회 요청 스레드가 동시에 접근하므로 상태 변경/조회는 모두 synchronized 로 처리합니다.
+ */
+@Getter
+public class AnalysisJob {
+
+    private final String id;
+    private final String userId;
+    private final Long mealInfoId;
+    private final LocalDateTime createdAt;
+
+    private AnalysisJobStatus status = AnalysisJobStatus.QUEUED;
+    private AnalysisStage stage;
+    private final Map<AnalysisStage, List<String>> stageResults = new EnumMap<>(AnalysisStage.class);
+    private List<String> foodResult;
+    private List<Integer> foodWeight;
+    private String error;
+    private LocalDateTime updatedAt;
+
+    public AnalysisJob(String id, String userId, Long mealInfoId) {
+        this.id = id;
+        this.userId = userId;
+        this.mealInfoId = mealInfoId;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public synchronized void startStage(AnalysisStage stage) {
+        this.status = AnalysisJobStatus.RUNNING;
+        this.stage = stage;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public synchronized void completeStage(AnalysisStage stage, List<String> result) {
+        this.stageResults.put(stage, List.copyOf(result));
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public synchronized void complete(List<String> foodResult, List<Integer> foodWeight) {
+        this.status = AnalysisJobStatus.COMPLETED;
+        this.foodResult = List.copyOf(foodResult);
+        this.foodWeight = List.copyOf(foodWeight);
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public synchronized void fail(String error) {
+        this.status = AnalysisJobStatus.FAILED;
+        this.error = error;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public synchronized AnalysisJobStatus getStatus() {
+        return status;
+    }
+
+    public synchronized AnalysisStage getStage() {
+        return stage;
+    }
+
+    public synchronized Map<AnalysisStage, List<String>> getStageResults() {
+        return Collections.unmodifiableMap(new EnumMap<>(stageResults));
+    }
+
+    public synchronized List<String> getFoodResult() {
+        return foodResult;
+    }
+
+    public synchronized List<Integer> getFoodWeight() {
+        return foodWeight;
+    }
+
+    public synchronized String getError() {
+        return error;
+    }
+
+    public synchronized LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
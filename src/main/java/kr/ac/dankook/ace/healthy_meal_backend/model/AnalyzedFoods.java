@@ -0,0 +1,39 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 식단 이미지 분석 결과입니다. 식별된 식품명과, 분석 방식이 섭취량을 추정했다면 식품명별 추정 섭취량(g)을 담습니다.
+ * 3단계 분석은 섭취량을 추정하지 않으므로 portionGrams 가 비어 있고, 이때는 음식 카탈로그의 1회 제공량을 사용합니다.
+ */
+public record AnalyzedFoods(List<String> names, Map<String, Integer> portionGrams) {
+
+    public AnalyzedFoods {
+        names = List.copyOf(names);
+        portionGrams = Map.copyOf(portionGrams);
+    }
+
+    public static AnalyzedFoods of(List<String> names) {
+        return new AnalyzedFoods(names, Map.of());
+    }
+
+    /**
+     * @param portionGrams 식품명별 추정 섭취량. 0 이하나 분석 결과에 없는 식품명의 값은 버립니다.
+     */
+    public static AnalyzedFoods of(List<String> names, Map<String, Integer> portionGrams) {
+        Map<String, Integer> portions = new LinkedHashMap<>();
+        for (String name : names) {
+            Integer grams = portionGrams.get(name);
+            if (grams != null && grams > 0) {
+                portions.put(name, grams);
+            }
+        }
+        return new AnalyzedFoods(names, portions);
+    }
+
+    public boolean isEmpty() {
+        return names.isEmpty();
+    }
+}
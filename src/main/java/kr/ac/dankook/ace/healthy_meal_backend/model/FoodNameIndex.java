@@ -0,0 +1,145 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 음식명 문자열에 대한 문자 bigram 역색인입니다.
+ * 생성 시점에 각 이름을 정규화(공백, '_' 제거 및 소문자화)하고 앞뒤 경계 문자를 붙여 bigram 으로 쪼갠 뒤,
+ * bigram 마다 그 bigram 을 가진 이름 목록(posting)을 만들어 둡니다.
+ * 검색은 질의의 bigram posting 만 훑어 겹치는 bigram 수를 세고 Dice 계수(2·공통 / (질의 + 이름))로 점수를 매기므로,
+ * 전체 이름 목록을 순회하거나 편집거리를 계산하지 않습니다.
+ * 생성 후에는 불변이며 여러 스레드에서 동시에 검색해도 안전합니다.
+ */
+public final class FoodNameIndex {
+
+    private static final char BOUNDARY = '\u0001';
+
+    private final String[] terms;
+    private final int[] gramCounts;
+    private final Map<String, int[]> postings;
+
+    private FoodNameIndex(String[] terms, int[] gramCounts, Map<String, int[]> postings) {
+        this.terms = terms;
+        this.gramCounts = gramCounts;
+        this.postings = postings;
+    }
+
+    public record Match(String term, double score) {}
+
+    /**
+     * 주어진 이름들로 색인을 만듭니다. 중복된 이름은 하나로 취급합니다.
+     */
+    public static FoodNameIndex build(Collection<String> names) {
+        String[] terms = new LinkedHashSet<>(names).stream()
+                .filter(name -> name != null && !normalize(name).isEmpty())
+                .toArray(String[]::new);
+        int[] gramCounts = new int[terms.length];
+        Map<String, List<Integer>> builder = new HashMap<>();
+        for (int id = 0; id < terms.length; id++) {
+            Set<String> grams = grams(normalize(terms[id]));
+            gramCounts[id] = grams.size();
+            for (String gram : grams) {
+                builder.computeIfAbsent(gram, key -> new ArrayList<>()).add(id);
+            }
+        }
+
+        Map<String, int[]> postings = new HashMap<>(builder.size() * 2);
+        builder.forEach((gram, ids) -> postings.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return new FoodNameIndex(terms, gramCounts, postings);
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * 질의와 가장 비슷한 이름 k 개를 점수 내림차순으로 반환합니다.
+     */
+    public List<Match> search(String query, int k) {
+        return search(query, k, term -> true);
+    }
+
+    /**
+     * 조건을 만족하는 이름 중에서 질의와 가장 비슷한 k 개를 점수 내림차순으로 반환합니다.
+     * @param filter 후보로 삼을 이름 조건 (예: 특정 대분류 하위의 이름만)
+     */
+    public List<Match> search(String query, int k, Predicate<String> filter) {
+        if (query == null || k <= 0) {
+            return List.of();
+        }
+        Set<String> queryGrams = grams(normalize(query));
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+
+        // 질의 bigram 의 posting 만 훑으며 이름별 공통 bigram 수 누적
+        int[] overlaps = new int[terms.length];
+        int[] touched = new int[terms.length];
+        int touchedCount = 0;
+        for (String gram : queryGrams) {
+            int[] ids = postings.get(gram);
+            if (ids == null) continue;
+            for (int id : ids) {
+                if (overlaps[id]++ == 0) {
+                    touched[touchedCount++] = id;
+                }
+            }
+        }
+
+        PriorityQueue<Match> top = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Match::score));
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touched[i];
+            double score = 2.0 * overlaps[id] / (queryGrams.size() + gramCounts[id]);
+            if (top.size() == k && score <= top.peek().score()) continue;
+            if (!filter.test(terms[id])) continue;
+            top.offer(new Match(terms[id], score));
+            if (top.size() > k) top.poll();
+        }
+
+        Match[] result = top.toArray(new Match[0]);
+        Arrays.sort(result, Comparator.comparingDouble(Match::score).reversed().thenComparing(Match::term));
+        return List.of(result);
+    }
+
+    /**
+     * 질의와 가장 비슷한 이름을 반환합니다. 점수가 minScore 미만이면 빈 값을 반환합니다.
+     */
+    public Optional<Match> best(String query, double minScore, Predicate<String> filter) {
+        return search(query, 1, filter).stream()
+                .filter(match -> match.score() >= minScore)
+                .findFirst();
+    }
+
+    static String normalize(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c) || c == '_') continue;
+            sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return grams;
+        }
+        String padded = BOUNDARY + normalized + BOUNDARY;
+        for (int i = 0; i + 2 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 2));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,105 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model;
+
+import kr.ac.dankook.ace.healthy_meal_backend.entity.Food;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.NutrientType;
+
+/**
+ * 음식 한 건의 영양 정보를 계산용으로 미리 풀어 둔 불변 값입니다.
+ * 1회 제공량 문자열(예: "200g")은 생성 시 한 번만 숫자로 바꾸고, 영양소는 1g 당 양을
+ * {@link NutrientType} ordinal 순서의 double 배열로 들고 있으므로 섭취량 계산은 배열 곱셈-덧셈 한 번입니다.
+ */
+public final class FoodNutrition {
+
+    private static final int SIZE = NutrientType.values().length;
+
+    private final Long foodId;
+    private final String name;
+    private final float servingGrams;
+    private final double[] perGram;
+
+    private FoodNutrition(Long foodId, String name, float servingGrams, double[] perGram) {
+        this.foodId = foodId;
+        this.name = name;
+        this.servingGrams = servingGrams;
+        this.perGram = perGram;
+    }
+
+    /**
+     * 음식 엔티티로부터 만듭니다. 영양소 값은 100g 기준이며, 없는 값은 0 으로 봅니다.
+     */
+    public static FoodNutrition of(Food food) {
+        double[] perGram = new double[SIZE];
+        perGram[NutrientType.ENERGY.ordinal()] = per100g(food.getEnergyKcal());
+        perGram[NutrientType.CARBOHYDRATE.ordinal()] = per100g(food.getCarbohydrateG());
+        perGram[NutrientType.FAT.ordinal()] = per100g(food.getFatG());
+        perGram[NutrientType.PROTEIN.ordinal()] = per100g(food.getProteinG());
+        perGram[NutrientType.CELLULOSE.ordinal()] = per100g(food.getCelluloseG());
+        perGram[NutrientType.SUGARS.ordinal()] = per100g(food.getSugarsG());
+        perGram[NutrientType.SODIUM.ordinal()] = per100g(food.getSodiumMg());
+        perGram[NutrientType.CHOLESTEROL.ordinal()] = per100g(food.getCholesterolMg());
+        return new FoodNutrition(food.getId(), food.getName(), parseGrams(food.getWeight()), perGram);
+    }
+
+    public Long getFoodId() {
+        return foodId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 1회 제공량(g). 제공량 문자열에 숫자가 없으면 0 입니다.
+     */
+    public float getServingGrams() {
+        return servingGrams;
+    }
+
+    public double perGram(NutrientType type) {
+        return perGram[type.ordinal()];
+    }
+
+    /**
+     * 주어진 제공 횟수만큼 섭취했을 때의 영양소 양을 totals(NutrientType ordinal 순서)에 더합니다.
+     */
+    public void addServings(double[] totals, double servings) {
+        addGrams(totals, servingGrams * servings);
+    }
+
+    /**
+     * 주어진 중량(g)만큼 섭취했을 때의 영양소 양을 totals(NutrientType ordinal 순서)에 더합니다.
+     */
+    public void addGrams(double[] totals, double grams) {
+        for (int i = 0; i < SIZE; i++) {
+            totals[i] += perGram[i] * grams;
+        }
+    }
+
+    private static double per100g(Double value) {
+        return value == null ? 0 : value / 100;
+    }
+
+    /**
+     * 제공량 문자열에서 숫자와 '.' 만 골라 float 로 바꿉니다. (기존 replaceAll("[^\\d.]", "") 과 같은 규칙)
+     */
+    static float parseGrams(String weight) {
+        if (weight == null) {
+            return 0f;
+        }
+        StringBuilder digits = new StringBuilder(weight.length());
+        for (int i = 0; i < weight.length(); i++) {
+            char c = weight.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.') {
+                digits.append(c);
+            }
+        }
+        if (digits.isEmpty()) {
+            return 0f;
+        }
+        try {
+            return Float.parseFloat(digits.toString());
+        } catch (NumberFormatException e) {
+            return 0f;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model;
+
+import kr.ac.dankook.ace.healthy_meal_backend.repository.projection.FoodTaxonomyRow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 대분류 → 대표식품명 → 식품명 으로 이어지는 음식 분류 트리의 불변 스냅샷입니다.
+ * 기존 SELECT DISTINCT 쿼리들과 같은 결과를 메모리에서 바로 돌려줍니다.
+ * <ul>
+ *     <li>대분류: major_category IS NOT NULL 인 대분류 목록</li>
+ *     <li>대분류별 대표식품명: representative_food IS NOT NULL 인 대표식품명 목록</li>
+ *     <li>대표식품명별 식품명: 대분류와 관계없이 같은 대표식품명을 가진 식품명 목록</li>
+ * </ul>
+ */
+public final class FoodTaxonomy {
+
+    private static final FoodTaxonomy EMPTY = new FoodTaxonomy(List.of(), Map.of(), Map.of(), 0, 0L, 0L);
+
+    private final List<String> majorCategories;
+    private final Map<String, List<String>> representativeFoodsByMajor;
+    private final Map<String, List<String>> namesByRepresentative;
+    private final int foodCount;
+    private final long version;
+    private final long fingerprint;
+
+    private FoodTaxonomy(List<String> majorCategories,
+                         Map<String, List<String>> representativeFoodsByMajor,
+                         Map<String, List<String>> namesByRepresentative,
+                         int foodCount,
+                         long version,
+                         long fingerprint) {
+        this.majorCategories = majorCategories;
+        this.representativeFoodsByMajor = representativeFoodsByMajor;
+        this.namesByRepresentative = namesByRepresentative;
+        this.foodCount = foodCount;
+        this.version = version;
+        this.fingerprint = fingerprint;
+    }
+
+    public static FoodTaxonomy empty() {
+        return EMPTY;
+    }
+
+    /**
+     * food 테이블 행들로부터 분류 트리를 만듭니다. 목록 순서는 행(id) 순서에서 처음 등장한 순서를 따릅니다.
+     * @param rows food 테이블 projection 행
+     * @param version 스냅샷 버전 (갱신될 때마다 증가)
+     */
+    public static FoodTaxonomy build(List<? extends FoodTaxonomyRow> rows, long version) {
+        Set<String> majors = new LinkedHashSet<>();
+        Map<String, Set<String>> repsByMajor = new LinkedHashMap<>();
+        Map<String, Set<String>> namesByRep = new LinkedHashMap<>();
+        long fingerprint = 17L;
+
+        for (FoodTaxonomyRow row : rows) {
+            String major = row.getMajorCategory();
+            String representative = row.getRepresentativeFood();
+            fingerprint = fingerprint * 1_000_003L + Objects.hashCode(major);
+            fingerprint = fingerprint * 1_000_003L + Objects.hashCode(representative);
+            fingerprint = fingerprint * 1_000_003L + Objects.hashCode(row.getName());
+            if (major != null) {
+                majors.add(major);
+                if (representative != null) {
+                    repsByMajor.computeIfAbsent(major, k -> new LinkedHashSet<>()).add(representative);
+                }
+            }
+            if (representative != null && row.getName() != null) {
+                namesByRep.computeIfAbsent(representative, k -> new LinkedHashSet<>()).add(row.getName());
+            }
+        }
+
+        return new FoodTaxonomy(
+                List.copyOf(majors),
+                freeze(repsByMajor),
+                freeze(namesByRep),
+                rows.size(),
+                version,
+                fingerprint
+        );
+    }
+
+    private static Map<String, List<String>> freeze(Map<String, Set<String>> source) {
+        Map<String, List<String>> frozen = new LinkedHashMap<>();
+        source.forEach((key, values) -> frozen.put(key, List.copyOf(values)));
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    public List<String> getMajorCategories() {
+        return majorCategories;
+    }
+
+    public List<String> getRepresentativeFoods(String majorCategory) {
+        return representativeFoodsByMajor.getOrDefault(majorCategory, List.of());
+    }
+
+    public List<String> getNames(String representativeFood) {
+        return namesByRepresentative.getOrDefault(representativeFood, List.of());
+    }
+
+    /**
+     * 여러 대분류에 속한 대표식품명들을 순서대로 이어붙여 반환합니다.
+     */
+    public List<String> getRepresentativeFoods(List<String> majorCategories) {
+        List<String> result = new ArrayList<>();
+        for (String majorCategory : majorCategories) {
+            result.addAll(getRepresentativeFoods(majorCategory));
+        }
+        return result;
+    }
+
+    /**
+     * 여러 대표식품명에 속한 식품명들을 순서대로 이어붙여 반환합니다.
+     */
+    public List<String> getNames(List<String> representativeFoods) {
+        List<String> result = new ArrayList<>();
+        for (String representativeFood : representativeFoods) {
+            result.addAll(getNames(representativeFood));
+        }
+        return result;
+    }
+
+    public Set<String> getRepresentativeFoodSet() {
+        return namesByRepresentative.keySet();
+    }
+
+    public int getFoodCount() {
+        return foodCount;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 분류 트리 내용으로 계산한 지문 값입니다. 재기동 후에도 내용이 같으면 같은 값이 나오므로
+     * 디스크에 남아있는 분석결과 캐시가 현재 분류 트리 기준인지 판별하는 데 사용합니다.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+}
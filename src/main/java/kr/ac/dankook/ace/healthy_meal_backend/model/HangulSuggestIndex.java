@@ -0,0 +1,253 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 음식명 자동완성용 접두어 색인입니다. 이름마다 세 가지 키를 만들어 각각 정렬된 배열로 들고 있습니다.
+ * <ul>
+ *     <li>음절 키: 정규화한 이름 그대로 (예: "김치찌개")</li>
+ *     <li>자모 키: 음절을 초성/중성/종성으로 풀고 겹모음/겹받침도 나눈 것 (예: "ㄱㅣㅁㅊㅣㅉㅣㄱㅐ")
+ *     → 입력 중인 마지막 글자("김치찍")도 접두어로 맞음</li>
+ *     <li>초성 키: 음절마다 초성만 (예: "ㄱㅊㅉㄱ")</li>
+ * </ul>
+ * '_' 나 공백으로 나뉜 단어의 시작 위치에서도 키를 만들어 "볶음밥_김치" 를 "김치" 로도 찾을 수 있습니다.
+ * 검색은 이분 탐색으로 접두어 구간을 찾아 그 구간만 훑으며, 이름 시작에서 맞은 것 → 짧은 이름 순으로 k 개를 반환합니다.
+ * 생성 후에는 불변이며 여러 스레드에서 동시에 검색해도 안전합니다.
+ */
+public final class HangulSuggestIndex {
+
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final String CHOSUNG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNGSUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ",
+            "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONGSUNG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    // 질의에 홀로 입력된 겹모음/겹받침 (예: "ㄳ") 을 키와 같은 방식으로 나누기 위한 표
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"), Map.entry('ㄺ', "ㄹㄱ"),
+            Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"), Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"),
+            Map.entry('ㄿ', "ㄹㅍ"), Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"), Map.entry('ㅘ', "ㅗㅏ"),
+            Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"), Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"),
+            Map.entry('ㅟ', "ㅜㅣ"), Map.entry('ㅢ', "ㅡㅣ")
+    );
+
+    // 순위: 음절 키 < 자모 키, 이름 시작 < 단어 시작
+    private static final int RANK_SYLLABLE = 0;
+    private static final int RANK_JAMO = 2;
+    private static final int RANK_WORD_START = 1;
+
+    /**
+     * 한 종류의 키 정렬 배열. keys[i] 는 이름 terms[ids[i]] 의 (wordStart[i] 이면 단어 시작부터의) 키입니다.
+     */
+    private record KeyArray(String[] keys, int[] ids, boolean[] wordStart) {
+
+        static KeyArray build(List<Key> entries) {
+            Key[] sorted = entries.toArray(new Key[0]);
+            Arrays.sort(sorted, Comparator.comparing(Key::key));
+            String[] keys = new String[sorted.length];
+            int[] ids = new int[sorted.length];
+            boolean[] wordStart = new boolean[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keys[i] = sorted[i].key();
+                ids[i] = sorted[i].id();
+                wordStart[i] = sorted[i].wordStart();
+            }
+            return new KeyArray(keys, ids, wordStart);
+        }
+
+        /**
+         * 접두어 구간의 이름마다 가장 좋은 순위(1부터, 0 은 미발견)를 ranks 에 기록하고 처음 본 이름을 touched 에 추가합니다.
+         * @return 추가 후 touched 개수
+         */
+        int collect(String prefix, int baseRank, byte[] ranks, int[] touched, int touchedCount) {
+            int end = lowerBound(keys, prefix + Character.MAX_VALUE);
+            for (int i = lowerBound(keys, prefix); i < end; i++) {
+                int id = ids[i];
+                byte rank = (byte) (1 + baseRank + (wordStart[i] ? RANK_WORD_START : 0));
+                if (ranks[id] == 0) {
+                    touched[touchedCount++] = id;
+                    ranks[id] = rank;
+                } else if (rank < ranks[id]) {
+                    ranks[id] = rank;
+                }
+            }
+            return touchedCount;
+        }
+
+        private static int lowerBound(String[] sorted, String key) {
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sorted[mid].compareTo(key) < 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+
+    private record Key(String key, int id, boolean wordStart) {}
+
+    private final String[] terms;
+    private final KeyArray syllables;
+    private final KeyArray jamos;
+    private final KeyArray chosungs;
+
+    private HangulSuggestIndex(String[] terms, KeyArray syllables, KeyArray jamos, KeyArray chosungs) {
+        this.terms = terms;
+        this.syllables = syllables;
+        this.jamos = jamos;
+        this.chosungs = chosungs;
+    }
+
+    /**
+     * 주어진 이름들로 색인을 만듭니다. 중복된 이름은 하나로 취급합니다.
+     */
+    public static HangulSuggestIndex build(Collection<String> names) {
+        // 이름 순으로 ID 를 매겨 동순위일 때 ID 비교만으로 이름 순이 되도록 함
+        String[] terms = new LinkedHashSet<>(names).stream()
+                .filter(name -> name != null && !FoodNameIndex.normalize(name).isEmpty())
+                .sorted()
+                .toArray(String[]::new);
+        List<Key> syllableKeys = new ArrayList<>();
+        List<Key> jamoKeys = new ArrayList<>();
+        List<Key> chosungKeys = new ArrayList<>();
+        for (int id = 0; id < terms.length; id++) {
+            Set<String> seen = new LinkedHashSet<>();
+            for (int start : wordStarts(terms[id])) {
+                String key = FoodNameIndex.normalize(terms[id].substring(start));
+                if (key.isEmpty() || !seen.add(key)) continue;
+                boolean wordStart = start > 0;
+                syllableKeys.add(new Key(key, id, wordStart));
+                jamoKeys.add(new Key(decompose(key), id, wordStart));
+                chosungKeys.add(new Key(chosung(key), id, wordStart));
+            }
+        }
+        return new HangulSuggestIndex(terms, KeyArray.build(syllableKeys), KeyArray.build(jamoKeys),
+                KeyArray.build(chosungKeys));
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * 질의로 시작하는 이름을 최대 k 개 반환합니다.
+     * 질의가 초성(자음)으로만 되어 있으면 초성 키로, 아니면 음절 키와 자모 키로 찾습니다.
+     */
+    public List<String> suggest(String query, int k) {
+        if (query == null || k <= 0) {
+            return List.of();
+        }
+        String normalized = FoodNameIndex.normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        // 한 글자 초성처럼 구간이 넓은 질의도 박싱/해시 없이 원시 배열로만 훑음
+        byte[] ranks = new byte[terms.length];
+        int[] touched = new int[terms.length];
+        int touchedCount;
+        if (isChosungOnly(normalized)) {
+            touchedCount = chosungs.collect(normalized, RANK_SYLLABLE, ranks, touched, 0);
+        } else {
+            touchedCount = syllables.collect(normalized, RANK_SYLLABLE, ranks, touched, 0);
+            touchedCount = jamos.collect(decompose(normalized), RANK_JAMO, ranks, touched, touchedCount);
+        }
+
+        // (순위, 이름 길이, ID) 를 long 하나로 묶어 오름차순 상위 k 개를 삽입 정렬로 유지
+        long[] top = new long[Math.min(k, touchedCount)];
+        int size = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touched[i];
+            long packed = ((long) ranks[id] << 48) | ((long) Math.min(terms[id].length(), 0xFFFF) << 32) | id;
+            if (size == top.length) {
+                if (packed >= top[size - 1]) continue;
+                size--;
+            }
+            int position = size;
+            while (position > 0 && top[position - 1] > packed) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = packed;
+            size++;
+        }
+
+        List<String> suggestions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            suggestions.add(terms[(int) (top[i] & 0xFFFFFFFFL)]);
+        }
+        return suggestions;
+    }
+
+    /**
+     * 한글 음절을 자모로 풉니다. 겹모음/겹받침은 입력 순서대로 나누고, 한글 음절이 아닌 문자는 그대로 둡니다.
+     */
+    static String decompose(String value) {
+        StringBuilder sb = new StringBuilder(value.length() * 3);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+                int index = c - SYLLABLE_FIRST;
+                sb.append(CHOSUNG.charAt(index / (21 * 28)))
+                        .append(JUNGSUNG[(index / 28) % 21])
+                        .append(JONGSUNG[index % 28]);
+            } else {
+                String split = COMPOUND_JAMO.get(c);
+                if (split != null) sb.append(split);
+                else sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 한글 음절을 초성으로 바꿉니다. 한글 음절이 아닌 문자는 그대로 둡니다.
+     */
+    static String chosung(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+                sb.append(CHOSUNG.charAt((c - SYLLABLE_FIRST) / (21 * 28)));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isChosungOnly(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (CHOSUNG.indexOf(value.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
+
+    // 이름 시작(0)과 '_' 또는 공백 뒤의 단어 시작 위치
+    private static List<Integer> wordStarts(String term) {
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        for (int i = 1; i < term.length(); i++) {
+            char previous = term.charAt(i - 1);
+            char c = term.charAt(i);
+            if ((previous == '_' || Character.isWhitespace(previous)) && c != '_' && !Character.isWhitespace(c)) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+}
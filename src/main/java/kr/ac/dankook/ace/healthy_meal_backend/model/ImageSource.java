@@ -0,0 +1,56 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 분석에 사용할 이미지의 출처입니다.
+ * 저장소 파일이면 필요할 때마다 스트림으로 열어 읽기 때문에 이미지 전체를 힙에 올리지 않아도 됩니다.
+ */
+public interface ImageSource {
+
+    InputStream openStream() throws IOException;
+
+    long size() throws IOException;
+
+    static ImageSource ofPath(Path path) {
+        return new ImageSource() {
+            @Override
+            public InputStream openStream() throws IOException {
+                return Files.newInputStream(path);
+            }
+
+            @Override
+            public long size() throws IOException {
+                return Files.size(path);
+            }
+
+            @Override
+            public String toString() {
+                return path.getFileName().toString();
+            }
+        };
+    }
+
+    static ImageSource ofBytes(byte[] bytes) {
+        return new ImageSource() {
+            @Override
+            public InputStream openStream() {
+                return new ByteArrayInputStream(bytes);
+            }
+
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public String toString() {
+                return "bytes(" + bytes.length + ")";
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * (createdAt, id) 내림차순 keyset 페이지네이션의 커서입니다.
+ * 다음 페이지는 "createdAt < 커서 createdAt, 또는 createdAt 이 같고 id < 커서 id" 인 행부터 읽으므로
+ * OFFSET 과 달리 앞 페이지 행을 건너뛰며 읽지 않고, (…, created_at, id) 인덱스 범위 스캔 한 번으로 끝납니다.
+ * 클라이언트에는 URL-safe Base64 문자열로 내려갑니다.
+ */
+public record KeysetCursor(LocalDateTime createdAt, long id) {
+
+    /**
+     * 첫 페이지용 커서 (모든 행보다 뒤)
+     */
+    public static final KeysetCursor START = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    /**
+     * 주어진 시각 이전 행부터 시작하는 커서입니다. (시각과 같은 행은 포함하지 않음)
+     */
+    public static KeysetCursor before(LocalDateTime createdAt) {
+        return new KeysetCursor(createdAt, 0L);
+    }
+
+    public String encode() {
+        return encodeKey(createdAt + "|" + id);
+    }
+
+    /**
+     * 커서 문자열을 해석합니다. 비어 있으면 {@link #START} 입니다.
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        String raw = decodeKey(cursor);
+        int separator = raw.lastIndexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor);
+        }
+        try {
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor);
+        }
+    }
+
+    /**
+     * ID 하나로 내림차순 정렬되는 목록(예: 음식이 판별된 식단)의 커서를 만듭니다.
+     */
+    public static String encodeId(long id) {
+        return encodeKey(Long.toString(id));
+    }
+
+    /**
+     * {@link #encodeId} 로 만든 커서를 해석합니다. 비어 있으면 첫 페이지용 {@link Long#MAX_VALUE} 입니다.
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(decodeKey(cursor));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor);
+        }
+    }
+
+    /**
+     * 문자열 키 하나로 정렬되는 목록(예: 유저 ID)의 커서를 만듭니다.
+     */
+    public static String encodeKey(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@link #encodeKey} 로 만든 커서를 되돌립니다.
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static String decodeKey(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor);
+        }
+    }
+}
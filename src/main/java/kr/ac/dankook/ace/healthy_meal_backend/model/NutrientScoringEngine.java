@@ -0,0 +1,220 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model;
+
+import kr.ac.dankook.ace.healthy_meal_backend.entity.DietScoringCriterion;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.NutrientScoringType;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.NutrientType;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 영양소별 점수 곡선을 적용해 하루 식단 점수(0~100)를 계산하는 엔진입니다.
+ * 섭취량과 권장섭취량은 {@link NutrientType} ordinal 순서의 double 배열로 받고,
+ * 곡선 종류와 비율 파라미터도 ordinal 별 원시 배열로 들고 있으므로 계산 중 박싱이나 컬렉션 생성이 없습니다.
+ * 여러 날을 한 번에 계산할 때는 [일 수 × 영양소 수] 크기의 평탄화된 배열을 {@link #scoreAll} 로 넘깁니다.
+ * 생성 후에는 불변이며 여러 스레드에서 동시에 사용해도 안전합니다.
+ */
+public final class NutrientScoringEngine {
+
+    public static final int NUTRIENT_COUNT = NutrientType.values().length;
+
+    /**
+     * 점수 곡선 종류입니다. LINEAR_DEVIATION 은 기존 계산식(100 - |1 - 비율| × 100)이고 나머지는 {@link NutrientScoringType} 과 같습니다.
+     */
+    public enum CurveKind {
+        LINEAR_DEVIATION, TARGET_RANGE, TARGET_RANGE_UPPER_SENSITIVE, ENOUGH_IS_GOOD, LESS_IS_BETTER;
+
+        public static CurveKind of(NutrientScoringType type) {
+            return switch (type) {
+                case TARGET_RANGE -> TARGET_RANGE;
+                case TARGET_RANGE_UPPER_SENSITIVE -> TARGET_RANGE_UPPER_SENSITIVE;
+                case ENOUGH_IS_GOOD -> ENOUGH_IS_GOOD;
+                case LESS_IS_BETTER -> LESS_IS_BETTER;
+            };
+        }
+    }
+
+    /**
+     * 한 영양소의 점수 곡선입니다. 비율은 모두 (섭취량 / 권장섭취량) 기준입니다.
+     * @param minOptimalRatio 이 비율 이상이면 부족 감점 없음 (TARGET_RANGE*, ENOUGH_IS_GOOD)
+     * @param maxOptimalRatio 이 비율 이하이면 과다 감점 없음 (TARGET_RANGE*)
+     * @param penaltyStartRatioUpper 과다 감점이 시작되는 비율 (LESS_IS_BETTER)
+     * @param zeroScoreRatioUpper 과다 섭취로 0점이 되는 비율
+     * @param importance 총점 계산 시 가중치
+     */
+    public record Curve(CurveKind kind, double minOptimalRatio, double maxOptimalRatio,
+                        double penaltyStartRatioUpper, double zeroScoreRatioUpper, double importance) {
+
+        public static final double DEFAULT_MIN_OPTIMAL_RATIO = 0.8;
+        public static final double DEFAULT_MAX_OPTIMAL_RATIO = 1.2;
+        public static final double DEFAULT_PENALTY_START_RATIO_UPPER = 1.0;
+        public static final double DEFAULT_ZERO_SCORE_RATIO_UPPER = 2.0;
+
+        public static Curve linearDeviation() {
+            return new Curve(CurveKind.LINEAR_DEVIATION, 1.0, 1.0, 1.0, 2.0, 1.0);
+        }
+
+        /**
+         * 영양소의 기본 곡선입니다. 비율 파라미터는 기본값을 사용합니다.
+         */
+        public static Curve defaultFor(NutrientType type) {
+            return new Curve(CurveKind.of(type.getScoringType()), DEFAULT_MIN_OPTIMAL_RATIO, DEFAULT_MAX_OPTIMAL_RATIO,
+                    DEFAULT_PENALTY_START_RATIO_UPPER, DEFAULT_ZERO_SCORE_RATIO_UPPER, type.getBaseImportance());
+        }
+
+        /**
+         * diet_scoring_criterion 행의 비율로 기본 곡선을 덮어씁니다. 비어 있는 값은 기본값을 유지합니다.
+         */
+        public static Curve from(NutrientType type, DietScoringCriterion criterion) {
+            Curve base = defaultFor(type);
+            return new Curve(base.kind(),
+                    orDefault(criterion.getMinOptimalRatio(), base.minOptimalRatio()),
+                    orDefault(criterion.getMaxOptimalRatio(), base.maxOptimalRatio()),
+                    orDefault(criterion.getPenaltyStartRatioUpper(), base.penaltyStartRatioUpper()),
+                    orDefault(criterion.getZeroScoreRatioUpper(), base.zeroScoreRatioUpper()),
+                    base.importance());
+        }
+
+        private static double orDefault(Double value, double defaultValue) {
+            return value == null ? defaultValue : value;
+        }
+    }
+
+    private final CurveKind[] kinds;
+    private final double[] minOptimal;
+    private final double[] maxOptimal;
+    private final double[] penaltyStart;
+    private final double[] zeroScore;
+    private final double[] importance;
+    private final double importanceSum;
+
+    private NutrientScoringEngine(Map<NutrientType, Curve> curves) {
+        kinds = new CurveKind[NUTRIENT_COUNT];
+        minOptimal = new double[NUTRIENT_COUNT];
+        maxOptimal = new double[NUTRIENT_COUNT];
+        penaltyStart = new double[NUTRIENT_COUNT];
+        zeroScore = new double[NUTRIENT_COUNT];
+        importance = new double[NUTRIENT_COUNT];
+        double sum = 0;
+        for (NutrientType type : NutrientType.values()) {
+            Curve curve = curves.get(type);
+            int i = type.ordinal();
+            kinds[i] = curve.kind();
+            minOptimal[i] = curve.minOptimalRatio();
+            maxOptimal[i] = curve.maxOptimalRatio();
+            penaltyStart[i] = curve.penaltyStartRatioUpper();
+            zeroScore[i] = curve.zeroScoreRatioUpper();
+            importance[i] = curve.importance();
+            sum += curve.importance();
+        }
+        importanceSum = sum;
+    }
+
+    /**
+     * 기존 점수 계산과 같은 결과를 내는 엔진입니다 (모든 영양소에 LINEAR_DEVIATION, 가중치 동일).
+     */
+    public static NutrientScoringEngine legacy() {
+        Map<NutrientType, Curve> curves = new EnumMap<>(NutrientType.class);
+        for (NutrientType type : NutrientType.values()) {
+            curves.put(type, Curve.linearDeviation());
+        }
+        return new NutrientScoringEngine(curves);
+    }
+
+    /**
+     * 영양소별 {@link NutrientScoringType} 곡선과 기본 중요도를 쓰는 엔진입니다.
+     * diet_scoring_criterion 행이 있는 영양소는 그 비율을 사용합니다 (nutrientName 은 한글 이름으로 매칭).
+     */
+    public static NutrientScoringEngine fromCriteria(Collection<DietScoringCriterion> criteria) {
+        Map<NutrientType, Curve> curves = new EnumMap<>(NutrientType.class);
+        for (NutrientType type : NutrientType.values()) {
+            curves.put(type, Curve.defaultFor(type));
+        }
+        for (DietScoringCriterion criterion : criteria) {
+            NutrientType.fromKoreanName(criterion.getNutrientName())
+                    .ifPresent(type -> curves.put(type, Curve.from(type, criterion)));
+        }
+        return new NutrientScoringEngine(curves);
+    }
+
+    /**
+     * 곡선을 직접 지정합니다. 지정하지 않은 영양소는 기본 곡선을 사용합니다.
+     */
+    public static NutrientScoringEngine of(Map<NutrientType, Curve> overrides) {
+        Map<NutrientType, Curve> curves = new EnumMap<>(NutrientType.class);
+        for (NutrientType type : NutrientType.values()) {
+            curves.put(type, overrides.getOrDefault(type, Curve.defaultFor(type)));
+        }
+        return new NutrientScoringEngine(curves);
+    }
+
+    /**
+     * 하루 식단 점수(0~100)를 계산합니다.
+     * @param actuals 섭취량 (NutrientType ordinal 순서)
+     * @param targets 권장섭취량 (NutrientType ordinal 순서)
+     */
+    public double score(double[] actuals, double[] targets) {
+        return score(actuals, targets, 0);
+    }
+
+    /**
+     * 여러 날의 식단 점수를 한 번에 계산합니다.
+     * @param actuals 섭취량, 길이 days × NUTRIENT_COUNT (날짜별로 ordinal 순서 연속)
+     * @param targets 권장섭취량, actuals 와 같은 배치
+     * @param out 날짜별 점수가 채워질 배열 (길이 days 이상)
+     */
+    public void scoreAll(double[] actuals, double[] targets, int days, double[] out) {
+        if (actuals.length < days * NUTRIENT_COUNT || targets.length < days * NUTRIENT_COUNT || out.length < days) {
+            throw new IllegalArgumentException("배열 크기가 일 수와 맞지 않음: " + days);
+        }
+        for (int day = 0; day < days; day++) {
+            out[day] = score(actuals, targets, day * NUTRIENT_COUNT);
+        }
+    }
+
+    private double score(double[] actuals, double[] targets, int offset) {
+        double total = 0;
+        for (int i = 0; i < NUTRIENT_COUNT; i++) {
+            total += nutrientScore(i, actuals[offset + i], targets[offset + i]) * importance[i];
+        }
+        return importanceSum == 0 ? 0 : total / importanceSum;
+    }
+
+    /**
+     * 한 영양소의 점수(0~100)입니다. 권장섭취량이 0 이하이면 만점으로 봅니다.
+     */
+    public double nutrientScore(NutrientType type, double actual, double target) {
+        return nutrientScore(type.ordinal(), actual, target);
+    }
+
+    private double nutrientScore(int i, double actual, double target) {
+        if (target <= 0) return 100.0;
+        double ratio = actual / target;
+        return switch (kinds[i]) {
+            case LINEAR_DEVIATION -> Math.max(0, 100.0 - Math.abs(1.0 - ratio) * 100);
+            case TARGET_RANGE -> rangeScore(ratio, minOptimal[i], maxOptimal[i], zeroScore[i]);
+            // 상한 초과 시 0점이 되는 지점을 절반 거리로 당겨 더 빠르게 감점
+            case TARGET_RANGE_UPPER_SENSITIVE -> rangeScore(ratio, minOptimal[i], maxOptimal[i],
+                    maxOptimal[i] + (zeroScore[i] - maxOptimal[i]) / 2);
+            case ENOUGH_IS_GOOD -> ratio >= minOptimal[i] ? 100.0 : 100.0 * ratio / minOptimal[i];
+            case LESS_IS_BETTER -> upperPenalty(ratio, penaltyStart[i], zeroScore[i]);
+        };
+    }
+
+    /**
+     * [min, max] 구간은 만점, 아래로는 0 까지 선형 감소, 위로는 zero 비율에서 0점이 되도록 선형 감소합니다.
+     */
+    private static double rangeScore(double ratio, double min, double max, double zero) {
+        if (ratio < min) {
+            return min <= 0 ? 100.0 : Math.max(0, 100.0 * ratio / min);
+        }
+        return upperPenalty(ratio, max, zero);
+    }
+
+    private static double upperPenalty(double ratio, double start, double zero) {
+        if (ratio <= start) return 100.0;
+        if (ratio >= zero) return 0.0;
+        return 100.0 * (zero - ratio) / (zero - start);
+    }
+}
@@ -0,0 +1,106 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model;
+
+import kr.ac.dankook.ace.healthy_meal_backend.entity.DietCriterion;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.NutrientType;
+
+import java.util.Arrays;
+
+/**
+ * 영양소별 권장섭취량 벡터입니다. 값은 {@link NutrientType} ordinal 순서의 float 배열로 들고 있으며 불변입니다.
+ * 엔티티({@link DietCriterion})와 분리되어 있으므로 가중치를 적용해도 기준 테이블에는 영향이 없습니다.
+ */
+public final class NutrientTargets {
+
+    private static final int SIZE = NutrientType.values().length;
+
+    private final float[] values;
+
+    private NutrientTargets(float[] values) {
+        this.values = values;
+    }
+
+    /**
+     * @param valuesByOrdinal NutrientType ordinal 순서의 값 (복사하여 보관)
+     */
+    public static NutrientTargets of(float[] valuesByOrdinal) {
+        if (valuesByOrdinal.length != SIZE) {
+            throw new IllegalArgumentException("영양소 개수가 맞지 않음: " + valuesByOrdinal.length);
+        }
+        return new NutrientTargets(valuesByOrdinal.clone());
+    }
+
+    public static NutrientTargets from(DietCriterion criterion) {
+        float[] values = new float[SIZE];
+        values[NutrientType.ENERGY.ordinal()] = valueOf(criterion.getEnergyKcal());
+        values[NutrientType.CARBOHYDRATE.ordinal()] = valueOf(criterion.getCarbohydrateG());
+        values[NutrientType.FAT.ordinal()] = valueOf(criterion.getFatG());
+        values[NutrientType.PROTEIN.ordinal()] = valueOf(criterion.getProteinG());
+        values[NutrientType.CELLULOSE.ordinal()] = valueOf(criterion.getCelluloseG());
+        values[NutrientType.SUGARS.ordinal()] = valueOf(criterion.getSugarsG());
+        values[NutrientType.SODIUM.ordinal()] = valueOf(criterion.getSodiumMg());
+        values[NutrientType.CHOLESTEROL.ordinal()] = valueOf(criterion.getCholesterolMg());
+        return new NutrientTargets(values);
+    }
+
+    public float get(NutrientType type) {
+        return values[type.ordinal()];
+    }
+
+    /**
+     * NutrientType ordinal 순서의 값을 복사하여 반환합니다.
+     */
+    public float[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * NutrientType ordinal 순서의 값을 double 배열로 반환합니다. (점수 계산용)
+     */
+    public double[] toDoubleArray() {
+        double[] result = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+
+    /**
+     * 영양소별 배율(NutrientType ordinal 순서)을 곱한 새 벡터를 반환합니다.
+     */
+    public NutrientTargets weighted(float[] multipliersByOrdinal) {
+        float[] weighted = new float[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            weighted[i] = values[i] * multipliersByOrdinal[i];
+        }
+        return new NutrientTargets(weighted);
+    }
+
+    /**
+     * 기준 행(연령/성별 범위)은 그대로 두고 영양소 값만 이 벡터로 채운, 영속성 컨텍스트와 무관한 DietCriterion 을 만듭니다.
+     */
+    public DietCriterion toDietCriterion(DietCriterion source) {
+        DietCriterion criterion = new DietCriterion();
+        criterion.setId(source.getId());
+        criterion.setStartAge(source.getStartAge());
+        criterion.setEndAge(source.getEndAge());
+        criterion.setGender(source.getGender());
+        criterion.setEnergyKcal(get(NutrientType.ENERGY));
+        criterion.setCarbohydrateG(get(NutrientType.CARBOHYDRATE));
+        criterion.setFatG(get(NutrientType.FAT));
+        criterion.setProteinG(get(NutrientType.PROTEIN));
+        criterion.setCelluloseG(get(NutrientType.CELLULOSE));
+        criterion.setSugarsG(get(NutrientType.SUGARS));
+        criterion.setSodiumMg(get(NutrientType.SODIUM));
+        criterion.setCholesterolMg(get(NutrientType.CHOLESTEROL));
+        return criterion;
+    }
+
+    private static float valueOf(Float value) {
+        return value == null ? 0f : value;
+    }
+
+    @Override
+    public String toString() {
+        return "NutrientTargets" + Arrays.toString(values);
+    }
+}
@@ -0,0 +1,11 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model.enums;
+
+/**
+ * 단계별 GPT 분석 사이에 이전 대화 맥락(이미지와 이전 답변)을 이어가는 방식입니다.
+ */
+public enum AnalysisContextMode {
+    /** 분석마다 Conversations API 로 대화방을 만들고, 모든 단계가 같은 대화방을 사용 */
+    CONVERSATION,
+    /** 대화방 없이, 각 단계가 직전 단계 응답의 id 를 previous_response_id 로 넘겨 이어감 */
+    PREVIOUS_RESPONSE
+}
@@ -0,0 +1,11 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model.enums;
+
+/**
+ * GPT 식단 이미지 분석 방식입니다.
+ */
+public enum AnalysisEngineMode {
+    /** 대분류 > 대표식품명 > 최종 식품명 순서로 GPT 를 3번 호출 */
+    STAGED,
+    /** 구조화 출력(JSON schema)으로 GPT 를 1번 호출하고, 음식명은 분류 트리에서 직접 해석 */
+    SINGLE_SHOT
+}
@@ -0,0 +1,15 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model.enums;
+
+/**
+ * 비동기 식단 분석 작업의 상태를 정의하는 Enum 클래스입니다.
+ */
+public enum AnalysisJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,19 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model.enums;
+
+/**
+ * GPT 식단 이미지 분석의 단계를 정의하는 Enum 클래스입니다.
+ */
+public enum AnalysisStage {
+    /**
+     * 1차 분석 - 이미지로 대분류 식별
+     */
+    MAJOR_CATEGORY,
+    /**
+     * 2차 분석 - 대분류 하위의 대표식품명 식별
+     */
+    REPRESENTATIVE_FOOD,
+    /**
+     * 3차 분석 - 대표식품명 하위의 최종 식품명 식별
+     */
+    FINAL_FOOD
+}
@@ -0,0 +1,11 @@
+package kr.ac.dankook.ace.healthy_meal_backend.model.enums;
+
+/**
+ * 일별 식단 점수 계산 방식입니다.
+ */
+public enum DietScoreProfile {
+    /** 모든 영양소에 100 - |1 - 섭취비율| × 100 을 동일 가중치로 적용 (기존 계산) */
+    LEGACY,
+    /** 영양소별 NutrientScoringType 곡선, diet_scoring_criterion 비율, 기본 중요도를 적용 */
+    CURVES
+}
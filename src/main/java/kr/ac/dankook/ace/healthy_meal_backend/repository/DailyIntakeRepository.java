@@ -1,7 +1,12 @@
 package kr.ac.dankook.ace.healthy_meal_backend.repository;
 
 import kr.ac.dankook.ace.healthy_meal_backend.entity.DailyIntake;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.projection.DailyIntakeScoreRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -16,4 +21,69 @@ public interface DailyIntakeRepository extends CrudRepository<DailyIntake, Integ
     List<DailyIntake> findByUserId(String userId);
 
     List<DailyIntake> findByDay(LocalDate day);
+
+    long countByDay(LocalDate day);
+
+    /**
+     * 주어진 날짜의 일별 섭취 기록을 id 순으로 afterId 다음부터 한 묶음 읽습니다 (keyset 방식).
+     * 사용자 정보는 조인으로 함께 읽으므로 행마다 user 를 따로 조회하지 않습니다.
+     */
+    @Query("SELECT new kr.ac.dankook.ace.healthy_meal_backend.repository.projection.DailyIntakeScoreRow(" +
+            "d.id, d.day, d.score, u.id, u.birthday, u.gender, u.nutrientWeights, u.critweight, " +
+            "d.energyKcal, d.carbohydrateG, d.fatG, d.proteinG, d.celluloseG, d.sugarsG, d.sodiumMg, d.cholesterolMg) " +
+            "FROM DailyIntake d JOIN d.user u " +
+            "WHERE d.day = :day AND d.id > :afterId ORDER BY d.id")
+    List<DailyIntakeScoreRow> findScoreRowsAfter(@Param("day") LocalDate day, @Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * 한 사용자의 기간 내 일별 섭취 기록을 날짜 순으로 한 번에 읽습니다. (user_id, day) 유니크 인덱스를 사용합니다.
+     */
+    @Query("SELECT new kr.ac.dankook.ace.healthy_meal_backend.repository.projection.DailyIntakeScoreRow(" +
+            "d.id, d.day, d.score, u.id, u.birthday, u.gender, u.nutrientWeights, u.critweight, " +
+            "d.energyKcal, d.carbohydrateG, d.fatG, d.proteinG, d.celluloseG, d.sugarsG, d.sodiumMg, d.cholesterolMg) " +
+            "FROM DailyIntake d JOIN d.user u " +
+            "WHERE u.id = :userId AND d.day BETWEEN :from AND :to ORDER BY d.day")
+    List<DailyIntakeScoreRow> findScoreRowsByUserIdAndDayBetween(@Param("userId") String userId,
+                                                                 @Param("from") LocalDate from,
+                                                                 @Param("to") LocalDate to);
+
+    /**
+     * 사용자의 해당 날짜 섭취량에 영양소별 증가분을 더합니다. 행이 없으면 증가분으로 새로 만듭니다.
+     * (user_id, day) 유니크 키를 이용한 한 번의 INSERT ... ON DUPLICATE KEY UPDATE 이므로
+     * 같은 사용자의 식단이 동시에 확정되어도 갱신이 유실되거나 중복 생성 예외가 나지 않습니다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO daily_intake (user_id, day, energy_kcal, protein_g, fat_g, carbohydrate_g, " +
+            "sugars_g, cellulose_g, sodium_mg, cholesterol_mg) " +
+            "VALUES (:userId, :day, :energyKcal, :proteinG, :fatG, :carbohydrateG, " +
+            ":sugarsG, :celluloseG, :sodiumMg, :cholesterolMg) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "energy_kcal = energy_kcal + :energyKcal, protein_g = protein_g + :proteinG, fat_g = fat_g + :fatG, " +
+            "carbohydrate_g = carbohydrate_g + :carbohydrateG, sugars_g = sugars_g + :sugarsG, " +
+            "cellulose_g = cellulose_g + :celluloseG, sodium_mg = sodium_mg + :sodiumMg, " +
+            "cholesterol_mg = cholesterol_mg + :cholesterolMg",
+            nativeQuery = true)
+    int upsertAddIntake(@Param("userId") String userId, @Param("day") LocalDate day,
+                        @Param("energyKcal") double energyKcal, @Param("proteinG") double proteinG,
+                        @Param("fatG") double fatG, @Param("carbohydrateG") double carbohydrateG,
+                        @Param("sugarsG") double sugarsG, @Param("celluloseG") double celluloseG,
+                        @Param("sodiumMg") double sodiumMg, @Param("cholesterolMg") double cholesterolMg);
+
+    /**
+     * 사용자의 해당 날짜 섭취량을 주어진 합계로 덮어씁니다. 행이 없으면 새로 만듭니다. (원장으로부터 재구성할 때 사용)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO daily_intake (user_id, day, energy_kcal, protein_g, fat_g, carbohydrate_g, " +
+            "sugars_g, cellulose_g, sodium_mg, cholesterol_mg) " +
+            "VALUES (:userId, :day, :energyKcal, :proteinG, :fatG, :carbohydrateG, " +
+            ":sugarsG, :celluloseG, :sodiumMg, :cholesterolMg) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "energy_kcal = :energyKcal, protein_g = :proteinG, fat_g = :fatG, carbohydrate_g = :carbohydrateG, " +
+            "sugars_g = :sugarsG, cellulose_g = :celluloseG, sodium_mg = :sodiumMg, cholesterol_mg = :cholesterolMg",
+            nativeQuery = true)
+    int upsertSetIntake(@Param("userId") String userId, @Param("day") LocalDate day,
+                        @Param("energyKcal") double energyKcal, @Param("proteinG") double proteinG,
+                        @Param("fatG") double fatG, @Param("carbohydrateG") double carbohydrateG,
+                        @Param("sugarsG") double sugarsG, @Param("celluloseG") double celluloseG,
+                        @Param("sodiumMg") double sodiumMg, @Param("cholesterolMg") double cholesterolMg);
 }
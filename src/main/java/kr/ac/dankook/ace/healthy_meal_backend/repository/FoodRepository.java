@@ -1,11 +1,16 @@
 package kr.ac.dankook.ace.healthy_meal_backend.repository;
 
 import kr.ac.dankook.ace.healthy_meal_backend.entity.Food;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.projection.FoodCatalogRow;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.projection.FoodTaxonomyRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +21,9 @@ public interface FoodRepository extends CrudRepository<Food, Long> {
 
     Optional<Food> findFirstByName(String name);
 
+    // 여러 식품명을 IN 조회 한 번으로 찾음 (같은 이름이 여러 개면 모두 반환)
+    List<Food> findAllByNameIn(Collection<String> names);
+
     boolean existsFoodByName(String name);
 
     @Query("SELECT f FROM Food f WHERE " +
@@ -29,6 +37,28 @@ public interface FoodRepository extends CrudRepository<Food, Long> {
             @Param("majorCategory") String majorCategory
     );
 
+    String CATALOG_ROW_SELECT = "SELECT new kr.ac.dankook.ace.healthy_meal_backend.repository.projection.FoodCatalogRow(" +
+            "f.id, f.name, f.representativeFood, f.majorCategory, f.mediumCategory, f.minorCategory, f.subcategory, " +
+            "f.nutriRefAmt, f.weight, f.energyKcal, f.proteinG, f.fatG, f.carbohydrateG, f.sugarsG, f.celluloseG, " +
+            "f.sodiumMg, f.cholesterolMg) ";
+
+    String CATALOG_CONDITIONS = "WHERE (:name IS NULL OR f.name=:name) AND " +
+            "(:representativeFood IS NULL OR f.representativeFood=:representativeFood) AND " +
+            "(:majorCategory IS NULL OR f.majorCategory=:majorCategory)";
+
+    // 카탈로그 조회 - 스칼라 컬럼 projection, 페이지/정렬 적용
+    @Query(value = CATALOG_ROW_SELECT + "FROM Food f " + CATALOG_CONDITIONS,
+            countQuery = "SELECT COUNT(f) FROM Food f " + CATALOG_CONDITIONS)
+    Page<FoodCatalogRow> findCatalogRows(
+            @Param("name") String name,
+            @Param("representativeFood") String representativeFood,
+            @Param("majorCategory") String majorCategory,
+            Pageable pageable
+    );
+
+    @Query(CATALOG_ROW_SELECT + "FROM Food f WHERE f.id = :id")
+    Optional<FoodCatalogRow> findCatalogRowById(@Param("id") Long id);
+
     @Query(value = "SELECT DISTINCT major_category FROM food WHERE major_category IS NOT NULL",
             nativeQuery = true)
     List<String> findDistinctMajorCategoryNative();
@@ -48,4 +78,9 @@ public interface FoodRepository extends CrudRepository<Food, Long> {
     @Query("SELECT DISTINCT f.representativeFood FROM Food f")
     List<String> findDistinctRepresentativeNames();
 
+    // 인메모리 음식 분류 트리 구성용 - food 테이블 1회 스캔
+    @Query("SELECT f.majorCategory AS majorCategory, f.representativeFood AS representativeFood, f.name AS name " +
+            "FROM Food f ORDER BY f.id")
+    List<FoodTaxonomyRow> findAllTaxonomyRows();
+
 }
@@ -0,0 +1,10 @@
+package kr.ac.dankook.ace.healthy_meal_backend.repository;
+
+import kr.ac.dankook.ace.healthy_meal_backend.entity.MealInfoFoodLink;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.MealInfoFoodLinkId;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MealInfoFoodLinkRepository extends CrudRepository<MealInfoFoodLink, MealInfoFoodLinkId> {
+}
@@ -1,18 +1,66 @@
 package kr.ac.dankook.ace.healthy_meal_backend.repository;
 
+import jakarta.persistence.LockModeType;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.MealInfo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 @Repository
 public interface MealInfoRepository extends CrudRepository<MealInfo, Long> {
-    @Query("SELECT m FROM MealInfo m WHERE m.user.id = :userId AND (:date IS NULL OR DATE(m.createdAt) = :date)")
-    List<MealInfo> findByUserIdAndCreatedDate(
+    // 유저의 식단 하나를 기본키로 조회 (유저의 전체 식단 목록을 읽지 않음)
+    Optional<MealInfo> findByIdAndUserId(Long id, String userId);
+
+    // 섭취 원장 반영용 - 식단 행을 잠가(SELECT ... FOR UPDATE) 같은 식단의 동시 확정/수정/삭제를 직렬화
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MealInfo m WHERE m.id = :id AND m.user.id = :userId")
+    Optional<MealInfo> findByIdAndUserIdForUpdate(@Param("id") Long id, @Param("userId") String userId);
+
+    // 유저 식단 keyset 페이지 - (createdAt, id) 내림차순, idx_meal_info_user_created 사용
+    @Query("SELECT m FROM MealInfo m WHERE m.user.id = :userId AND m.createdAt >= :from AND " +
+            "(m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MealInfo> findPageByUserId(
             @Param("userId") String userId,
-            @Param("date") LocalDate date);
+            @Param("from") LocalDateTime from,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable limit);
+
+    // 음식이 판별된 식단 ID keyset 페이지 - 식단 ID 내림차순 (ID 는 기록 순서대로 증가하므로 최신순)
+    // idx_meal_info_food_link_food (food_id, meal_info_id) 를 역순으로 범위 스캔하므로 음식의 전체 연결을 정렬하지 않음
+    @Query("SELECT l.id.mealInfoId FROM MealInfoFoodLink l WHERE l.id.foodId = :foodId AND l.id.mealInfoId < :id " +
+            "ORDER BY l.id.mealInfoId DESC")
+    List<Long> findPageIdsByFoodId(
+            @Param("foodId") Long foodId,
+            @Param("id") Long id,
+            Pageable limit);
+
+    // 식단들을 음식 연결과 음식까지 한 번에 읽음 (응답 변환 시 식단마다 연결/음식을 따로 읽지 않도록)
+    @Query("SELECT DISTINCT m FROM MealInfo m LEFT JOIN FETCH m.mealInfoFoodLinks l LEFT JOIN FETCH l.food " +
+            "WHERE m.id IN :ids")
+    List<MealInfo> findAllWithFoodLinksByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 식단들을 음식 연결과 함께 읽어 주어진 ID 순서대로 반환합니다. 그 사이 삭제된 식단은 빠집니다.
+     */
+    default List<MealInfo> findAllWithFoodLinksInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, MealInfo> byId = new HashMap<>();
+        findAllWithFoodLinksByIdIn(ids).forEach(mealInfo -> byId.put(mealInfo.getId(), mealInfo));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
 }
@@ -2,13 +2,24 @@ package kr.ac.dankook.ace.healthy_meal_backend.repository;
 
 import kr.ac.dankook.ace.healthy_meal_backend.entity.User;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends CrudRepository<User, String> {
     @NotNull Optional<User> findById(@NotNull String userId);
+
+    // 음식을 선호하는 유저 keyset 페이지 - user 에 생성 시각이 없으므로 id 오름차순, idx_user_food_link_food_user 사용
+    @Query("SELECT u FROM UserFoodLink l JOIN l.user u WHERE l.food.id = :foodId AND u.id > :afterUserId ORDER BY u.id")
+    List<User> findPageByFoodId(
+            @Param("foodId") Long foodId,
+            @Param("afterUserId") String afterUserId,
+            Pageable limit);
 }
@@ -0,0 +1,35 @@
+package kr.ac.dankook.ace.healthy_meal_backend.repository.projection;
+
+import kr.ac.dankook.ace.healthy_meal_backend.entity.NutrientWeights;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 식단 점수 계산에 필요한 daily_intake 값과 사용자 정보를 한 번의 조인으로 읽는 projection 입니다.
+ * 엔티티가 아니므로 영속성 컨텍스트에 쌓이지 않습니다.
+ */
+public record DailyIntakeScoreRow(
+        Integer id,
+        LocalDate day,
+        Integer score,
+        String userId,
+        LocalDate birthday,
+        Character gender,
+        NutrientWeights nutrientWeights,
+        String critweight,
+        Double energyKcal,
+        Double carbohydrateG,
+        Double fatG,
+        Double proteinG,
+        Double celluloseG,
+        Double sugarsG,
+        Double sodiumMg,
+        Double cholesterolMg
+) {
+    /**
+     * 사용자 가중치 배율 (NutrientType ordinal 순서). 가중치 컬럼이 비어 있는 기존 사용자는 critweight 를 읽습니다.
+     */
+    public float[] weightMultipliers() {
+        return NutrientWeights.resolve(nutrientWeights, critweight).toMultipliers();
+    }
+}
@@ -0,0 +1,69 @@
+package kr.ac.dankook.ace.healthy_meal_backend.repository.projection;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 음식 카탈로그 조회용 food 테이블 projection 입니다.
+ * 스칼라 컬럼만 JPQL 로 선택하므로 식단/유저 연결 컬렉션을 초기화하지 않으며, 응답 크기는 페이지 크기에만 비례합니다.
+ */
+public record FoodCatalogRow(
+        Long id,
+        String name,
+        String representativeFood,
+        String majorCategory,
+        String mediumCategory,
+        String minorCategory,
+        String subcategory,
+        String nutriRefAmt,
+        String weight,
+        Double energyKcal,
+        Double proteinG,
+        Double fatG,
+        Double carbohydrateG,
+        Double sugarsG,
+        Double celluloseG,
+        Double sodiumMg,
+        Double cholesterolMg
+) {
+    /**
+     * 선택 가능한 필드 (Food 엔티티 속성명과 같으며 정렬 허용 목록으로도 사용)
+     */
+    public static final Map<String, Function<FoodCatalogRow, Object>> FIELDS;
+
+    static {
+        Map<String, Function<FoodCatalogRow, Object>> fields = new LinkedHashMap<>();
+        fields.put("id", FoodCatalogRow::id);
+        fields.put("name", FoodCatalogRow::name);
+        fields.put("representativeFood", FoodCatalogRow::representativeFood);
+        fields.put("majorCategory", FoodCatalogRow::majorCategory);
+        fields.put("mediumCategory", FoodCatalogRow::mediumCategory);
+        fields.put("minorCategory", FoodCatalogRow::minorCategory);
+        fields.put("subcategory", FoodCatalogRow::subcategory);
+        fields.put("nutriRefAmt", FoodCatalogRow::nutriRefAmt);
+        fields.put("weight", FoodCatalogRow::weight);
+        fields.put("energyKcal", FoodCatalogRow::energyKcal);
+        fields.put("proteinG", FoodCatalogRow::proteinG);
+        fields.put("fatG", FoodCatalogRow::fatG);
+        fields.put("carbohydrateG", FoodCatalogRow::carbohydrateG);
+        fields.put("sugarsG", FoodCatalogRow::sugarsG);
+        fields.put("celluloseG", FoodCatalogRow::celluloseG);
+        fields.put("sodiumMg", FoodCatalogRow::sodiumMg);
+        fields.put("cholesterolMg", FoodCatalogRow::cholesterolMg);
+        FIELDS = Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * 주어진 필드만 담은 Map 을 반환합니다. (필드 이름은 {@link #FIELDS} 에 있어야 함)
+     */
+    public Map<String, Object> select(Collection<String> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String field : fields) {
+            selected.put(field, FIELDS.get(field).apply(this));
+        }
+        return selected;
+    }
+}
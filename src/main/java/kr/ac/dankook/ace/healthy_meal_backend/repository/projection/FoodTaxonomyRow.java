@@ -0,0 +1,12 @@
+package kr.ac.dankook.ace.healthy_meal_backend.repository.projection;
+
+/**
+ * 음식 분류 트리(대분류 → 대표식품명 → 식품명) 구성을 위한 food 테이블 projection 입니다.
+ */
+public interface FoodTaxonomyRow {
+    String getMajorCategory();
+
+    String getRepresentativeFood();
+
+    String getName();
+}
@@ -0,0 +1,117 @@
+package kr.ac.dankook.ace.healthy_meal_backend.security;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * JWT 인증 필터의 요청별 인증 결과를 집계합니다.
+ * 요청마다 로그를 남기는 대신 엔드포인트(매핑 패턴)별, 결과별 카운터만 올리고,
+ * 주기적으로 직전 구간의 집계를 한 줄로 로그에 남깁니다.
+ * 태그 값은 클라이언트가 임의로 만들 수 없도록 정해진 집합(매핑 패턴, 알려진 첫 경로, 표준 HTTP 메서드)으로만 제한합니다.
+ * <ul>
+ *     <li>메트릭 auth.requests{endpoint,outcome} : 누적 요청 수</li>
+ *     <li>로그 : logging.auth-summary.interval-ms 마다 구간 집계 (요청이 없던 구간은 생략)</li>
+ * </ul>
+ */
+@Component
+public class AuthOutcomeRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthOutcomeRecorder.class);
+    private static final String UNMATCHED = "UNMATCHED";
+    private static final String OTHER_METHOD = "OTHER";
+    // 컨트롤러까지 가지 못한 요청은 이 첫 경로들만 구분하고 나머지는 UNMATCHED 하나로 묶음
+    private static final Set<String> KNOWN_ROOTS = Set.of(
+            "/users", "/foods", "/diet-criteria", "/login", "/signup", "/uploads",
+            "/actuator", "/swagger-ui", "/v3");
+    private static final Set<String> KNOWN_METHODS = Arrays.stream(HttpMethod.values())
+            .map(HttpMethod::name)
+            .collect(Collectors.toUnmodifiableSet());
+
+    public enum Outcome {
+        /** 인증이 필요 없는 경로 */
+        SKIPPED,
+        /** 유효한 토큰으로 인증됨 */
+        AUTHENTICATED,
+        /** Authorization 헤더 없음 */
+        MISSING_TOKEN,
+        /** 서명/만료 검증 실패 */
+        INVALID_TOKEN
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> window = new ConcurrentHashMap<>();
+
+    public AuthOutcomeRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 필터 체인 처리가 끝난 뒤 호출합니다. 이 시점에는 컨트롤러 매핑 패턴이 요청 속성에 남아 있어 엔드포인트 단위로 집계할 수 있습니다.
+     */
+    public void record(HttpServletRequest request, Outcome outcome) {
+        String endpoint = methodOf(request) + " " + endpointOf(request);
+        String key = endpoint + "|" + outcome.name();
+
+        counters.computeIfAbsent(key, k -> Counter.builder("auth.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome.name())
+                .register(meterRegistry)).increment();
+        window.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${logging.auth-summary.interval-ms:60000}")
+    public void logSummary() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        window.forEach((key, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) snapshot.put(key, count);
+        });
+        if (!snapshot.isEmpty()) {
+            logger.info("인증 결과 집계 : {}", snapshot);
+        }
+    }
+
+    /**
+     * 매핑 패턴(/users/{userId} 등)으로 엔드포인트를 구분합니다.
+     * 컨트롤러까지 가지 못한 요청(인증 실패, 404 등)은 ID 가 태그에 섞이지 않도록 알려진 첫 경로만 사용하고,
+     * 그 밖의 경로는 스캐너가 보내는 임의 경로마다 미터가 생기지 않도록 {@link #UNMATCHED} 로 묶습니다.
+     */
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        String path = request.getRequestURI();
+        int next = path.indexOf('/', 1);
+        String root = next < 0 ? path : path.substring(0, next);
+        if (!KNOWN_ROOTS.contains(root)) {
+            return UNMATCHED;
+        }
+        return next < 0 ? root : root + "/**";
+    }
+
+    /**
+     * 표준 HTTP 메서드가 아니면 {@link #OTHER_METHOD} 로 묶습니다.
+     */
+    private static String methodOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        return KNOWN_METHODS.contains(method) ? method : OTHER_METHOD;
+    }
+}
@@ -1,6 +1,7 @@
 package kr.ac.dankook.ace.healthy_meal_backend.security;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -9,6 +10,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,32 +20,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private final JwtTokenProvider jwtTokenProvider;
+    private final AuthOutcomeRecorder authOutcomeRecorder;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, AuthOutcomeRecorder authOutcomeRecorder) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.authOutcomeRecorder = authOutcomeRecorder;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        String token = resolveToken(request);
+        AuthOutcomeRecorder.Outcome outcome;
 
         String path = request.getRequestURI();
         if (path.equals("/login") || path.equals("/signup") || path.startsWith("/uploads/")) {
-            logger.info("✅ JwtAuthenticationFilter: 인증 없이 통과 → {}", request.getRequestURI());
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            Authentication auth = jwtTokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(auth);
-            logger.info("✅ JwtAuthenticationFilter: 인증 성공 → {}", request.getRequestURI());
+            outcome = AuthOutcomeRecorder.Outcome.SKIPPED;
         } else {
-            logger.info("⚠️ JwtAuthenticationFilter: 인증 토큰 없음 or 유효하지 않음 → {}", request.getRequestURI());
+            String token = resolveToken(request);
+            // 서명/만료 검증과 claim 추출을 한 번의 파싱으로 처리
+            Optional<Claims> claims = token == null ? Optional.empty() : jwtTokenProvider.parseClaims(token);
+            if (claims.isPresent()) {
+                Authentication auth = jwtTokenProvider.getAuthentication(claims.get());
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                outcome = AuthOutcomeRecorder.Outcome.AUTHENTICATED;
+            } else {
+                outcome = token == null ? AuthOutcomeRecorder.Outcome.MISSING_TOKEN : AuthOutcomeRecorder.Outcome.INVALID_TOKEN;
+            }
         }
+        // 요청별 로그는 DEBUG 에서만 (운영에서는 AuthOutcomeRecorder 의 주기 집계 사용)
+        logger.debug("JwtAuthenticationFilter: {} → {}", outcome, path);
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            authOutcomeRecorder.record(request, outcome);
+        }
     }
 
     @Nullable
@@ -0,0 +1,51 @@
+package kr.ac.dankook.ace.healthy_meal_backend.security;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+/**
+ * 검증된 JWT claim 만으로 만든 인증 주체입니다. DB 의 User 를 조회하지 않으므로 비밀번호는 갖지 않습니다.
+ * User 엔티티가 꼭 필요한 곳에서는 {@link UserPrincipalCache} 를 사용합니다.
+ */
+@Getter
+public class JwtPrincipal implements UserDetails {
+
+    private final String username;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(String username, Instant issuedAt, Instant expiresAt) {
+        this.username = username;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public static JwtPrincipal from(Claims claims) {
+        return new JwtPrincipal(
+                claims.getSubject(),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override public boolean isAccountNonExpired() { return true; }
+    @Override public boolean isAccountNonLocked() { return true; }
+    @Override public boolean isCredentialsNonExpired() { return true; }
+    @Override public boolean isEnabled() { return true; }
+}
@@ -3,7 +3,9 @@ package kr.ac.dankook.ace.healthy_meal_backend.security;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -28,11 +30,18 @@ public class JwtTokenProvider {
     private Key key;
     private JwtParser parser;
 
-    private final CustomUserDetailsService userDetailsService;
+    /**
+     * stateless : 검증된 claim 으로 바로 인증 주체 생성 (요청마다 DB 조회 없음)
+     * database  : claim 의 사용자 ID 로 User 를 조회하여 인증 주체 생성 (짧은 TTL 캐시 사용)
+     */
+    @Value("${jwt.auth.mode:stateless}")
+    private String authMode;
+
+    private final UserPrincipalCache userPrincipalCache;
 
     @Autowired
-    public JwtTokenProvider(CustomUserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
+    public JwtTokenProvider(UserPrincipalCache userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @PostConstruct
@@ -53,19 +62,34 @@ public class JwtTokenProvider {
                 .signWith(key).compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * 토큰의 서명과 만료를 한 번만 검증하고 claim 을 반환합니다. 유효하지 않으면 빈 값을 반환합니다.
+     */
+    public Optional<Claims> parseClaims(String token) {
         try {
-            parser.parseClaimsJws(token);
-            return true;
+            return Optional.of(parser.parseClaimsJws(token).getBody());
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
-    
+
+    public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
+    /**
+     * 검증된 claim 으로 인증 객체를 만듭니다.
+     */
+    public Authentication getAuthentication(Claims claims) {
+        UserDetails principal = "database".equalsIgnoreCase(authMode)
+                ? userPrincipalCache.load(claims.getSubject())
+                : JwtPrincipal.from(claims);
+        return new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities());
+    }
+
     public Authentication getAuthentication(String token) {
-        String username = getUsername(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+        Claims claims = parseClaims(token).orElseThrow(() -> new JwtException("유효하지 않은 토큰"));
+        return getAuthentication(claims);
     }
 
     public String getUsername(String token) {
@@ -0,0 +1,50 @@
+package kr.ac.dankook.ace.healthy_meal_backend.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * User 를 담은 인증 주체({@link CustomUserDetails})의 짧은 TTL, 최대 개수 제한 캐시입니다.
+ * 같은 사용자의 연속된 요청마다 user 테이블을 조회하지 않도록 합니다.
+ * 사용자 정보가 바뀌거나 삭제되면 {@link #evict(String)} 로 바로 제거합니다.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    public UserPrincipalCache(
+            CustomUserDetailsService userDetailsService,
+            @Value("${jwt.auth.principal-cache.enabled:true}") boolean enabled,
+            @Value("${jwt.auth.principal-cache.max-size:10000}") long maxSize,
+            @Value("${jwt.auth.principal-cache.ttl:60s}") Duration ttl
+    ) {
+        this.userDetailsService = userDetailsService;
+        this.cache = enabled
+                ? Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build()
+                : null;
+    }
+
+    /**
+     * 사용자 ID 로 인증 주체를 가져옵니다. 캐시에 없으면 DB 에서 읽어 캐시합니다.
+     */
+    public UserDetails load(String userId) {
+        if (cache == null) {
+            return userDetailsService.loadUserByUsername(userId);
+        }
+        return cache.get(userId, userDetailsService::loadUserByUsername);
+    }
+
+    public void evict(String userId) {
+        if (cache != null) {
+            cache.invalidate(userId);
+        }
+    }
+}
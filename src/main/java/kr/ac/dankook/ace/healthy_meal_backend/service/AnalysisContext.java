@@ -0,0 +1,55 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisContextMode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 한 번의 사진분석 동안 단계 사이의 맥락을 들고 다니는 객체입니다.
+ * <ul>
+ *     <li>CONVERSATION : 모든 요청에 같은 conversation id 를 붙임</li>
+ *     <li>PREVIOUS_RESPONSE : 직전 응답 id 를 previous_response_id 로 붙임 (첫 요청에는 붙이지 않음)</li>
+ * </ul>
+ */
+class AnalysisContext {
+
+    private final AnalysisContextMode mode;
+    private final String conversationId;
+    private String previousResponseId;
+
+    private AnalysisContext(AnalysisContextMode mode, String conversationId) {
+        this.mode = mode;
+        this.conversationId = conversationId;
+    }
+
+    static AnalysisContext ofConversation(String conversationId) {
+        return new AnalysisContext(AnalysisContextMode.CONVERSATION, conversationId);
+    }
+
+    static AnalysisContext chained() {
+        return new AnalysisContext(AnalysisContextMode.PREVIOUS_RESPONSE, null);
+    }
+
+    /**
+     * 요청 body 에 맥락 필드를 붙인 복사본을 반환합니다.
+     */
+    Map<String, Object> attach(Map<String, Object> requestBody) {
+        Map<String, Object> body = new HashMap<>(requestBody);
+        if (mode == AnalysisContextMode.CONVERSATION) {
+            body.put("conversation", conversationId);
+        } else if (previousResponseId != null) {
+            body.put("previous_response_id", previousResponseId);
+        }
+        return body;
+    }
+
+    /**
+     * 응답의 id 를 기억하여 다음 단계 요청에 이어 붙입니다.
+     */
+    void advance(Map<String, Object> response) {
+        if (response != null && response.get("id") != null) {
+            previousResponseId = response.get("id").toString();
+        }
+    }
+}
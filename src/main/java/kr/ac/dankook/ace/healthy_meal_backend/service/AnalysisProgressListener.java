@@ -0,0 +1,19 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisStage;
+
+import java.util.List;
+
+/**
+ * GPT 식단 분석의 단계별 진행 상황을 전달받는 리스너입니다.
+ */
+public interface AnalysisProgressListener {
+
+    AnalysisProgressListener NONE = new AnalysisProgressListener() {};
+
+    default void onStageStarted(AnalysisStage stage) {
+    }
+
+    default void onStageCompleted(AnalysisStage stage, List<String> result) {
+    }
+}
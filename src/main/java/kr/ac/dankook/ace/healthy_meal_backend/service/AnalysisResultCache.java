@@ -0,0 +1,254 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import kr.ac.dankook.ace.healthy_meal_backend.event.FoodCatalogChangedEvent;
+import kr.ac.dankook.ace.healthy_meal_backend.model.AnalyzedFoods;
+import kr.ac.dankook.ace.healthy_meal_backend.model.ImageSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 전처리된 분석용 JPEG 의 해시를 키로 하는 GPT 분석결과 캐시입니다.
+ * 같은 사진을 다시 올리거나 분석을 재시도할 때 OpenAI 호출 없이 이전 결과를 돌려줍니다.
+ * <ul>
+ *     <li>메모리: 최대 개수 + TTL 기반 제거 (Caffeine)</li>
+ *     <li>디스크(선택): 저장소 루트 옆 디렉토리에 해시별 파일로 저장, 재기동 후에도 재사용</li>
+ * </ul>
+ * 각 결과는 만들어질 당시의 음식 분류 트리 지문을 함께 저장하여, 분류 트리가 바뀐 뒤에는 적중으로 보지 않습니다.
+ */
+@Service
+public class AnalysisResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisResultCache.class);
+    private static final String FILE_SUFFIX = ".txt";
+    private static final char PORTION_SEPARATOR = '\t';
+
+    private final FoodTaxonomyService foodTaxonomyService;
+    private final Duration ttl;
+    private final boolean diskEnabled;
+    private final Path diskLocation;
+    private final Cache<String, CachedAnalysis> memory;
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+
+    private record CachedAnalysis(AnalyzedFoods foods, long taxonomyFingerprint, long createdAt) {
+    }
+
+    public AnalysisResultCache(
+            FoodTaxonomyService foodTaxonomyService,
+            StorageService storageService,
+            MeterRegistry meterRegistry,
+            @Value("${analysis.cache.max-size:1000}") long maxSize,
+            @Value("${analysis.cache.ttl:24h}") Duration ttl,
+            @Value("${analysis.cache.disk.enabled:false}") boolean diskEnabled,
+            @Value("${analysis.cache.disk.location:}") String diskLocation
+    ) {
+        this.foodTaxonomyService = foodTaxonomyService;
+        this.ttl = ttl;
+        this.diskEnabled = diskEnabled;
+        this.diskLocation = diskLocation.isBlank()
+                ? storageService.getRootLocation().resolveSibling("analysis-cache")
+                : Path.of(diskLocation).toAbsolutePath().normalize();
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "analysis.result");
+        this.memoryHits = Counter.builder("analysis.cache.requests").tag("result", "hit").tag("tier", "memory").register(meterRegistry);
+        this.diskHits = Counter.builder("analysis.cache.requests").tag("result", "hit").tag("tier", "disk").register(meterRegistry);
+        this.misses = Counter.builder("analysis.cache.requests").tag("result", "miss").tag("tier", "none").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!diskEnabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(diskLocation);
+            logger.info("분석결과 디스크 캐시 위치 : {}", diskLocation);
+        } catch (IOException e) {
+            logger.error("분석결과 디스크 캐시 디렉토리 생성 실패: {}", diskLocation, e);
+        }
+    }
+
+    /**
+     * 분석용 이미지 바이트의 SHA-256 해시(hex)를 반환합니다.
+     */
+    public String keyOf(byte[] imageBytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(imageBytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 분석용 이미지를 스트림으로 읽으면서 SHA-256 해시(hex)를 계산합니다. 이미지 전체를 메모리에 올리지 않습니다.
+     */
+    public String keyOf(ImageSource image) {
+        try (InputStream in = image.openStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Optional<AnalyzedFoods> get(String key) {
+        long fingerprint = foodTaxonomyService.current().getFingerprint();
+
+        CachedAnalysis cached = memory.getIfPresent(key);
+        if (cached != null && cached.taxonomyFingerprint() == fingerprint) {
+            memoryHits.increment();
+            return Optional.of(cached.foods());
+        }
+
+        if (diskEnabled) {
+            cached = readFromDisk(key);
+            if (cached != null && cached.taxonomyFingerprint() == fingerprint && !isExpired(cached)) {
+                memory.put(key, cached);
+                diskHits.increment();
+                return Optional.of(cached.foods());
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 분석결과를 저장합니다. 식별 실패(빈 결과)는 재시도할 수 있도록 저장하지 않습니다.
+     * @param taxonomyFingerprint 분석에 사용한 분류 트리 스냅샷의 지문
+     */
+    public void put(String key, AnalyzedFoods foods, long taxonomyFingerprint) {
+        if (foods.isEmpty()) {
+            return;
+        }
+        CachedAnalysis cached = new CachedAnalysis(foods, taxonomyFingerprint, System.currentTimeMillis());
+        memory.put(key, cached);
+        if (diskEnabled) {
+            writeToDisk(key, cached);
+        }
+    }
+
+    /**
+     * 음식 카탈로그가 바뀌면 모든 캐시를 비웁니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFoodCatalogChanged(FoodCatalogChangedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        memory.invalidateAll();
+        if (!diskEnabled || !Files.isDirectory(diskLocation)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(diskLocation)) {
+            files.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .forEach(path -> {
+                        try {
+                            Files.deleteIfExists(path);
+                        } catch (IOException e) {
+                            logger.warn("분석결과 캐시 파일 삭제 실패: {}", path, e);
+                        }
+                    });
+        } catch (IOException e) {
+            logger.warn("분석결과 디스크 캐시 비우기 실패: {}", diskLocation, e);
+        }
+        logger.info("분석결과 캐시 전체 무효화");
+    }
+
+    private boolean isExpired(CachedAnalysis cached) {
+        return System.currentTimeMillis() - cached.createdAt() > ttl.toMillis();
+    }
+
+    // 파일 형식: 1행 분류트리 지문, 2행 생성시각(epoch ms), 3행부터 음식명 (추정 섭취량이 있으면 탭 뒤에 g)
+    private CachedAnalysis readFromDisk(String key) {
+        Path file = diskLocation.resolve(key + FILE_SUFFIX);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.size() < 3) {
+                return null;
+            }
+            long fingerprint = Long.parseLong(lines.get(0));
+            long createdAt = Long.parseLong(lines.get(1));
+            List<String> names = new ArrayList<>();
+            Map<String, Integer> portions = new HashMap<>();
+            for (String line : lines.subList(2, lines.size())) {
+                int separator = line.indexOf(PORTION_SEPARATOR);
+                if (separator < 0) {
+                    names.add(line);
+                } else {
+                    String name = line.substring(0, separator);
+                    names.add(name);
+                    portions.put(name, Integer.parseInt(line.substring(separator + 1)));
+                }
+            }
+            return new CachedAnalysis(AnalyzedFoods.of(names, portions), fingerprint, createdAt);
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("분석결과 캐시 파일 읽기 실패: {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, CachedAnalysis cached) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.valueOf(cached.taxonomyFingerprint()));
+        lines.add(String.valueOf(cached.createdAt()));
+        for (String name : cached.foods().names()) {
+            Integer grams = cached.foods().portionGrams().get(name);
+            lines.add(grams == null ? name : name + PORTION_SEPARATOR + grams);
+        }
+        try {
+            Path tmp = Files.createTempFile(diskLocation, key, ".tmp");
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, diskLocation.resolve(key + FILE_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("분석결과 캐시 파일 쓰기 실패: {}", key, e);
+        }
+    }
+}
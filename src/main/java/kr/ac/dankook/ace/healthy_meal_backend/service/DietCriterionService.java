@@ -0,0 +1,163 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.DietCriterion;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.User;
+import kr.ac.dankook.ace.healthy_meal_backend.model.NutrientTargets;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.DietCriterionRepository;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 연령/성별별 영양소 섭취 기준(diet_criterion)을 메모리에 들고 있는 서비스입니다.
+ * 기동 시 작은 기준 테이블을 한 번 읽어 성별마다 시작 나이 순으로 정렬된 구간 배열을 만들고,
+ * 나이로는 이분 탐색하여 기준을 찾습니다. 반환하는 권장섭취량은 불변 {@link NutrientTargets} 이므로 엔티티가 변경될 일이 없습니다.
+ * 사용자 가중치를 적용한 권장섭취량은 (사용자, 나이, 성별) 별로 캐시하며, 가중치가 바뀌면 해당 사용자의 항목을 제거합니다.
+ */
+@Service
+public class DietCriterionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DietCriterionService.class);
+
+    public record CriterionEntry(DietCriterion criterion, NutrientTargets targets) {}
+
+    private record GenderTable(int[] startAges, int[] endAges, CriterionEntry[] entries) {
+        Optional<CriterionEntry> find(int age) {
+            // 시작 나이가 age 이하인 마지막 구간부터 거꾸로 확인 (구간이 겹치지 않으면 한 번에 찾음)
+            int index = upperBound(startAges, age) - 1;
+            for (int i = index; i >= 0; i--) {
+                if (endAges[i] >= age) {
+                    return Optional.of(entries[i]);
+                }
+            }
+            return Optional.empty();
+        }
+
+        private static int upperBound(int[] sorted, int key) {
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sorted[mid] <= key) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+
+    private record UserTargetsKey(String userId, int age, char gender) {}
+
+    private final DietCriterionRepository dietCriterionRepository;
+    private final UserRepository userRepository;
+    private final Cache<UserTargetsKey, NutrientTargets> userTargets;
+    private volatile Map<Character, GenderTable> tables = Map.of();
+
+    public DietCriterionService(
+            DietCriterionRepository dietCriterionRepository,
+            UserRepository userRepository,
+            @Value("${diet.criterion.user-cache.max-size:10000}") long maxSize,
+            @Value("${diet.criterion.user-cache.ttl:1h}") Duration ttl
+    ) {
+        this.dietCriterionRepository = dietCriterionRepository;
+        this.userRepository = userRepository;
+        this.userTargets = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * diet_criterion 테이블을 다시 읽어 구간 테이블을 교체합니다.
+     */
+    public synchronized void reload() {
+        Map<Character, List<DietCriterion>> byGender = new HashMap<>();
+        for (DietCriterion criterion : dietCriterionRepository.findAll()) {
+            if (criterion.getGender() == null || criterion.getStartAge() == null || criterion.getEndAge() == null) {
+                continue;
+            }
+            byGender.computeIfAbsent(criterion.getGender(), key -> new ArrayList<>()).add(criterion);
+        }
+
+        Map<Character, GenderTable> built = new HashMap<>();
+        byGender.forEach((gender, criteria) -> {
+            criteria.sort(Comparator.comparingInt(DietCriterion::getStartAge));
+            int[] startAges = new int[criteria.size()];
+            int[] endAges = new int[criteria.size()];
+            CriterionEntry[] entries = new CriterionEntry[criteria.size()];
+            for (int i = 0; i < criteria.size(); i++) {
+                DietCriterion criterion = criteria.get(i);
+                startAges[i] = criterion.getStartAge();
+                endAges[i] = criterion.getEndAge();
+                entries[i] = new CriterionEntry(criterion, NutrientTargets.from(criterion));
+            }
+            built.put(gender, new GenderTable(startAges, endAges, entries));
+        });
+        tables = Map.copyOf(built);
+        userTargets.invalidateAll();
+        logger.info("영양소 섭취 기준 로드 : 성별 {}개, 기준 {}개", built.size(),
+                byGender.values().stream().mapToInt(List::size).sum());
+    }
+
+    /**
+     * 나이와 성별에 해당하는 섭취 기준을 찾습니다.
+     */
+    public Optional<CriterionEntry> findApplicable(int age, char gender) {
+        GenderTable table = tables.get(gender);
+        return table == null ? Optional.empty() : table.find(age);
+    }
+
+    /**
+     * 사용자 가중치가 적용된 권장섭취량을 반환합니다. (사용자, 나이, 성별) 별로 캐시됩니다.
+     */
+    public NutrientTargets getWeightedTargets(String userId, int age, char gender) {
+        return userTargets.get(new UserTargetsKey(userId, age, gender), key -> {
+            User user = userRepository.findById(userId).orElseThrow(() -> new NoSuchElementException("해당하는 사용자가 없음"));
+            return baseTargets(age, gender).weighted(user.getNutrientWeights().toMultipliers());
+        });
+    }
+
+    /**
+     * 주어진 배율(NutrientType ordinal 순서)을 적용한 권장섭취량을 반환합니다. 캐시를 거치지 않습니다 (배치용).
+     */
+    public Optional<NutrientTargets> getWeightedTargets(int age, char gender, float[] multipliers) {
+        return findApplicable(age, gender).map(entry -> entry.targets().weighted(multipliers));
+    }
+
+    /**
+     * 사용자의 가중치가 바뀌었을 때 호출합니다. 트랜잭션 안이면 커밋 후에 제거하여, 커밋 전 값이 다시 캐시되지 않도록 합니다.
+     */
+    public void evictUser(String userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeUser(userId);
+                }
+            });
+        } else {
+            removeUser(userId);
+        }
+    }
+
+    private void removeUser(String userId) {
+        userTargets.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+
+    private NutrientTargets baseTargets(int age, char gender) {
+        return findApplicable(age, gender)
+                .map(CriterionEntry::targets)
+                .orElseThrow(() -> new NoSuchElementException("해당하는 영양섭취 기준이 없음"));
+    }
+}
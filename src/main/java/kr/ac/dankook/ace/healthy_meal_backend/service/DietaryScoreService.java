@@ -1,84 +1,294 @@
 package kr.ac.dankook.ace.healthy_meal_backend.service;
 
-import kr.ac.dankook.ace.healthy_meal_backend.entity.DailyIntake;
-import kr.ac.dankook.ace.healthy_meal_backend.entity.DietCriterion; // 기존 DietCriterion (연령/성별별 기준)
-import kr.ac.dankook.ace.healthy_meal_backend.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import kr.ac.dankook.ace.healthy_meal_backend.dto.DailyScoreDTO;
+import kr.ac.dankook.ace.healthy_meal_backend.event.DailyIntakeChangedEvent;
+import kr.ac.dankook.ace.healthy_meal_backend.model.NutrientScoringEngine;
+import kr.ac.dankook.ace.healthy_meal_backend.model.NutrientTargets;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.DietScoreProfile;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.NutrientType;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.DailyIntakeRepository;
-// 기존 DietCriterionRepository 주입
-import lombok.RequiredArgsConstructor;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.DietScoringCriterionRepository;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.projection.DailyIntakeScoreRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 전날 기록된 일별 섭취량(daily_intake)의 식단 점수를 매일 밤 계산하는 배치입니다.
+ * <ul>
+ *     <li>읽기: id 기준 keyset 으로 chunk 단위 조회, 사용자 정보는 조인 projection 으로 함께 읽음</li>
+ *     <li>기준: 연령/성별 섭취 기준은 {@link DietCriterionService} 의 인메모리 구간 테이블에서 찾음</li>
+ *     <li>계산: chunk 안의 행들을 {@link NutrientScoringEngine} 으로 병렬 계산 (diet.score.profile)</li>
+ *     <li>쓰기: chunk 마다 JDBC batch update 후 커밋</li>
+ * </ul>
+ * 진행률/처리량은 diet.score.batch.* 메트릭과 chunk 별 로그로 확인할 수 있습니다.
+ * 사용자/기간 단위의 점수 조회 및 재계산({@link #getScores}, {@link #recomputeScores})도 같은 계산을 사용합니다.
+ */
 @Service
-@RequiredArgsConstructor
 public class DietaryScoreService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DietaryScoreService.class);
+    private static final String UPDATE_SCORE_SQL = "UPDATE daily_intake SET score = ? WHERE id = ?";
+
     private final DailyIntakeRepository dailyIntakeRepository;
-    private final UserService userService;
+    private final DietCriterionService dietCriterionService;
+    private final DietScoringCriterionRepository dietScoringCriterionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final DietScoreProfile profile;
+
+    private final Counter scoredRows;
+    private final Counter skippedRows;
+    private final Timer chunkTimer;
+    private final AtomicLong processedInRun = new AtomicLong();
+    private final AtomicLong totalInRun = new AtomicLong();
+
+    private final int maxRangeDays;
+    private final Cache<ScoreRangeKey, List<DailyScoreDTO>> rangeCache;
+    private volatile NutrientScoringEngine engine;
+
+    public record ScoreBatchResult(LocalDate day, long scored, long skipped, long elapsedMillis) {}
+
+    private record ScoreRangeKey(String userId, LocalDate from, LocalDate to) {
+        boolean covers(LocalDate day) {
+            return day == null || (!day.isBefore(from) && !day.isAfter(to));
+        }
+    }
+
+    public DietaryScoreService(
+            DailyIntakeRepository dailyIntakeRepository,
+            DietCriterionService dietCriterionService,
+            DietScoringCriterionRepository dietScoringCriterionRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${diet.score.batch.chunk-size:500}") int chunkSize,
+            @Value("${diet.score.profile:legacy}") DietScoreProfile profile,
+            @Value("${diet.score.range.max-days:366}") int maxRangeDays,
+            @Value("${diet.score.range.cache.max-size:5000}") long rangeCacheMaxSize,
+            @Value("${diet.score.range.cache.ttl:10m}") Duration rangeCacheTtl
+    ) {
+        this.dailyIntakeRepository = dailyIntakeRepository;
+        this.dietCriterionService = dietCriterionService;
+        this.dietScoringCriterionRepository = dietScoringCriterionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.profile = profile;
+        this.maxRangeDays = maxRangeDays;
+        this.rangeCache = Caffeine.newBuilder()
+                .maximumSize(rangeCacheMaxSize)
+                .expireAfterWrite(rangeCacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rangeCache, "diet.score.range");
+
+        this.scoredRows = Counter.builder("diet.score.batch.rows").tag("result", "scored").register(meterRegistry);
+        this.skippedRows = Counter.builder("diet.score.batch.rows").tag("result", "skipped").register(meterRegistry);
+        this.chunkTimer = Timer.builder("diet.score.batch.chunk").register(meterRegistry);
+        Gauge.builder("diet.score.batch.progress", this, service -> service.progress())
+                .description("현재(또는 마지막) 실행의 진행률 (0~1)")
+                .register(meterRegistry);
+    }
 
     @Scheduled(cron = "0 0 0 * * *")
-    @Transactional
     public void updateDailyIntakeScore() {
         try {
-            List<DailyIntake> allDailyIntakes = dailyIntakeRepository.findByDay(LocalDate.now().minusDays(1));
-            for (DailyIntake dailyIntake : allDailyIntakes) {
-                dailyIntake.setScore(calculateScoreFromDailyIntake(dailyIntake));
-            }
+            updateDailyIntakeScore(LocalDate.now().minusDays(1));
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("일별 식단 점수 배치 실패", e);
         }
     }
 
-    private int calculateScoreFromDailyIntake(DailyIntake dailyIntake) {
-        // 실제섭취량 리스트
-        List<Double> actuals = List.of(
-                dailyIntake.getEnergyKcal(),
-                dailyIntake.getCarbohydrateG(),
-                dailyIntake.getFatG(),
-                dailyIntake.getProteinG(),
-                dailyIntake.getCelluloseG(),
-                dailyIntake.getSugarsG(),
-                dailyIntake.getSodiumMg(),
-                dailyIntake.getCholesterolMg()
-        );
-        // 권장섭취량 리스트
-        User user = dailyIntake.getUser();
-        int age = Period.between(user.getBirthday(), LocalDate.now()).getYears();
-        DietCriterion dietCriterion = userService.applyWeight(user.getId(), age, user.getGender());
-        List<Float> targets = List.of(
-                dietCriterion.getEnergyKcal(),
-                dietCriterion.getCarbohydrateG(),
-                dietCriterion.getFatG(),
-                dietCriterion.getProteinG(),
-                dietCriterion.getCelluloseG(),
-                dietCriterion.getSugarsG(),
-                dietCriterion.getSodiumMg(),
-                dietCriterion.getCholesterolMg()
-        );
-
-        double totalScore = 0;
-        double maxScore = 0;
-        for (int i = 0; i < targets.size(); i++) {
-            double actualValue = actuals.get(i);
-            double targetValue = targets.get(i);
-            double nutrientScore = calculateScorePerNutrient(actualValue, targetValue);
-            totalScore += nutrientScore;
-            maxScore += 100;
+    /**
+     * 주어진 날짜의 모든 일별 섭취 기록 점수를 계산하여 저장합니다.
+     * chunk 단위로 커밋하므로 중간에 실패해도 이미 처리한 chunk 는 유지되고, 다시 실행하면 같은 결과로 덮어씁니다.
+     */
+    public ScoreBatchResult updateDailyIntakeScore(LocalDate day) {
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        NutrientScoringEngine engine = scoringEngine();
+        this.engine = engine;
+        processedInRun.set(0);
+        totalInRun.set(dailyIntakeRepository.countByDay(day));
+        logger.info("일별 식단 점수 배치 시작 ({}) : 대상 {}건, chunk {}, 방식 {}", day, totalInRun.get(), chunkSize, profile);
+
+        long scored = 0;
+        long skipped = 0;
+        int afterId = 0;
+        while (true) {
+            List<DailyIntakeScoreRow> chunk = dailyIntakeRepository.findScoreRowsAfter(day, afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).id();
+
+            long chunkStart = System.nanoTime();
+            List<Object[]> updates = chunk.parallelStream()
+                    .map(row -> {
+                        Integer score = calculateScore(engine, row, today);
+                        return score == null ? null : new Object[]{score, row.id()};
+                    })
+                    .filter(Objects::nonNull)
+                    .toList();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, updates));
+            chunkTimer.record(System.nanoTime() - chunkStart, TimeUnit.NANOSECONDS);
+
+            scored += updates.size();
+            skipped += chunk.size() - updates.size();
+            scoredRows.increment(updates.size());
+            skippedRows.increment(chunk.size() - updates.size());
+            processedInRun.addAndGet(chunk.size());
+
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            logger.info("일별 식단 점수 배치 진행 : {}/{}건 ({} 건/s)",
+                    processedInRun.get(), totalInRun.get(), processedInRun.get() * 1000 / elapsed);
         }
 
-        return (int) Math.round((totalScore / maxScore)*100);
+        ScoreBatchResult result = new ScoreBatchResult(day, scored, skipped, System.currentTimeMillis() - start);
+        logger.info("일별 식단 점수 배치 완료 : {}", result);
+        rangeCache.asMap().keySet().removeIf(key -> key.covers(day));
+        return result;
+    }
+
+    /**
+     * 한 사용자의 기간 내 일별 점수를 반환합니다. 결과는 (사용자, 기간) 별로 캐시됩니다.
+     * 조회 전용으로 DB 에는 쓰지 않으며, 저장된 점수 갱신은 {@link #recomputeScores} 와 야간 배치가 맡습니다.
+     */
+    public List<DailyScoreDTO> getScores(String userId, LocalDate from, LocalDate to) {
+        return rangeCache.get(rangeKey(userId, from, to), key -> scoreRange(key.userId(), key.from(), key.to(), false));
     }
-    private double calculateScorePerNutrient(double actual, double target) {
-        if (target == 0) return 100.0;
-        double ratio = actual / target;
-        double deviation = Math.abs(1.0 - ratio);
-        double penalty = deviation * 100;
-        double score = 100.0 - penalty;
-        return Math.max(0, score);
+
+    /**
+     * 캐시를 거치지 않고 한 사용자의 기간 내 일별 점수를 다시 계산하여 저장합니다. (누락/수정된 날짜 재계산용)
+     */
+    public List<DailyScoreDTO> recomputeScores(String userId, LocalDate from, LocalDate to) {
+        ScoreRangeKey key = rangeKey(userId, from, to);
+        List<DailyScoreDTO> scores = scoreRange(userId, from, to, true);
+        rangeCache.asMap().keySet().removeIf(cached -> cached.userId().equals(userId));
+        rangeCache.put(key, scores);
+        return scores;
+    }
+
+    /**
+     * 섭취 기록이나 가중치가 바뀌면 해당 사용자의 기간 캐시 중 그 날짜를 포함하는 항목을 제거합니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyIntakeChanged(DailyIntakeChangedEvent event) {
+        rangeCache.asMap().keySet()
+                .removeIf(key -> key.userId().equals(event.userId()) && key.covers(event.day()));
+    }
+
+    private ScoreRangeKey rangeKey(String userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작 날짜가 종료 날짜보다 늦음: " + from + " > " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + maxRangeDays + "일");
+        }
+        return new ScoreRangeKey(userId, from, to);
+    }
+
+    /**
+     * 기간 내 기록을 한 번의 범위 조회로 읽어 계산합니다. persist 이면 바뀐 점수만 JDBC batch update 로 저장합니다.
+     */
+    private List<DailyScoreDTO> scoreRange(String userId, LocalDate from, LocalDate to, boolean persist) {
+        NutrientScoringEngine engine = currentEngine();
+        LocalDate today = LocalDate.now();
+        List<DailyIntakeScoreRow> rows = dailyIntakeRepository.findScoreRowsByUserIdAndDayBetween(userId, from, to);
+
+        List<DailyScoreDTO> scores = new ArrayList<>(rows.size());
+        List<Object[]> updates = new ArrayList<>();
+        for (DailyIntakeScoreRow row : rows) {
+            Integer score = calculateScore(engine, row, today);
+            scores.add(new DailyScoreDTO(row.id(), row.day(), score));
+            if (persist && score != null && !score.equals(row.score())) {
+                updates.add(new Object[]{score, row.id()});
+            }
+        }
+        if (!updates.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, updates));
+        }
+        logger.debug("기간 점수 계산 ({}, {} ~ {}) : {}건, 갱신 {}건", userId, from, to, rows.size(), updates.size());
+        return List.copyOf(scores);
+    }
+
+    private NutrientScoringEngine currentEngine() {
+        NutrientScoringEngine current = engine;
+        if (current == null) {
+            current = scoringEngine();
+            engine = current;
+        }
+        return current;
+    }
+
+    /**
+     * 설정된 점수 계산 방식의 엔진을 만듭니다. CURVES 는 실행마다 diet_scoring_criterion 을 한 번 읽습니다.
+     */
+    public NutrientScoringEngine scoringEngine() {
+        return switch (profile) {
+            case LEGACY -> NutrientScoringEngine.legacy();
+            case CURVES -> NutrientScoringEngine.fromCriteria(dietScoringCriterionRepository.findAll());
+        };
+    }
+
+    private double progress() {
+        long total = totalInRun.get();
+        return total == 0 ? 1.0 : (double) processedInRun.get() / total;
+    }
+
+    /**
+     * 한 행의 점수를 계산합니다. 생일/성별이 없거나 맞는 섭취 기준이 없으면 null 을 반환합니다 (점수 미갱신).
+     */
+    private Integer calculateScore(NutrientScoringEngine engine, DailyIntakeScoreRow row, LocalDate today) {
+        if (row.birthday() == null || row.gender() == null) {
+            return null;
+        }
+        int age = Period.between(row.birthday(), today).getYears();
+        Optional<NutrientTargets> weightedTargets = dietCriterionService.getWeightedTargets(age, row.gender(), row.weightMultipliers());
+        if (weightedTargets.isEmpty()) {
+            return null;
+        }
+
+        // 실제섭취량 / 권장섭취량 (NutrientType ordinal 순서)
+        double[] actuals = new double[NutrientType.values().length];
+        actuals[NutrientType.ENERGY.ordinal()] = valueOf(row.energyKcal());
+        actuals[NutrientType.CARBOHYDRATE.ordinal()] = valueOf(row.carbohydrateG());
+        actuals[NutrientType.FAT.ordinal()] = valueOf(row.fatG());
+        actuals[NutrientType.PROTEIN.ordinal()] = valueOf(row.proteinG());
+        actuals[NutrientType.CELLULOSE.ordinal()] = valueOf(row.celluloseG());
+        actuals[NutrientType.SUGARS.ordinal()] = valueOf(row.sugarsG());
+        actuals[NutrientType.SODIUM.ordinal()] = valueOf(row.sodiumMg());
+        actuals[NutrientType.CHOLESTEROL.ordinal()] = valueOf(row.cholesterolMg());
+        return (int) Math.round(engine.score(actuals, weightedTargets.get().toDoubleArray()));
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? 0 : value;
     }
 }
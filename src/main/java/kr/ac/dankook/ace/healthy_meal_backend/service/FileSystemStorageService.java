@@ -163,6 +163,59 @@ public class FileSystemStorageService implements StorageService {
         }
     }
 
+    /**
+     * 원본 파일에서 파생된 이미지(예: 분석용 리사이즈 JPEG)를 원본 옆에 저장합니다.
+     * 파일명은 원본 파일명에 변형 이름을 붙여 만듭니다. (예: uuid.png → uuid_896.jpg)
+     * @param filename 원본 파일의 저장된 이름
+     * @param variant 파생 이미지 변형 이름
+     * @param bytes 저장할 내용
+     * @return 저장된 파생 파일의 이름
+     * @throws StorageException 파일 저장 중 오류 발생 시
+     */
+    @Override
+    public String storeDerivative(String filename, String variant, byte[] bytes) {
+        String derivativeFilename = derivativeFilename(filename, variant);
+        Path destinationFile = load(derivativeFilename).toAbsolutePath();
+
+        // 최종 저장 경로가 루트 저장소 내에 있는지 확인 (보안)
+        if (!destinationFile.getParent().equals(this.rootLocation.toAbsolutePath())) {
+            logger.error("Security alert: Attempted to store derivative outside the root storage directory. Target: {}", destinationFile);
+            throw new StorageException(
+                    "Cannot store file outside current directory. Attempted path: " + destinationFile,
+                    StorageException.ErrorType.INVALID_PATH
+            );
+        }
+
+        try {
+            Files.write(destinationFile, bytes);
+            logger.info("Successfully stored derivative {} ({} bytes)", derivativeFilename, bytes.length);
+            return derivativeFilename;
+        } catch (IOException e) {
+            logger.error("Failed to store derivative {}: {}", derivativeFilename, e.getMessage(), e);
+            throw new StorageException(
+                    "Failed to store derivative " + derivativeFilename + ". " + e.getMessage(),
+                    e,
+                    StorageException.ErrorType.STORE_FAILED
+            );
+        }
+    }
+
+    /**
+     * 원본 파일명으로부터 파생 이미지의 파일명을 만듭니다.
+     * @param filename 원본 파일의 저장된 이름
+     * @param variant 파생 이미지 변형 이름
+     * @return 파생 파일의 이름
+     */
+    @Override
+    public String derivativeFilename(String filename, String variant) {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new StorageException("Filename cannot be null or empty.", StorageException.ErrorType.INVALID_FILENAME);
+        }
+        int dotIndex = filename.lastIndexOf('.');
+        String baseName = dotIndex >= 0 ? filename.substring(0, dotIndex) : filename;
+        return baseName + "_" + variant + ".jpg";
+    }
+
     /**
      * 지정된 파일명의 Path 객체를 반환합니다.
      * @param filename 로드할 파일의 이름
@@ -309,4 +362,13 @@ public class FileSystemStorageService implements StorageService {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * 저장소 루트 디렉토리 경로를 반환합니다.
+     * @return 저장소 루트 Path
+     */
+    @Override
+    public Path getRootLocation() {
+        return this.rootLocation;
+    }
 }
@@ -0,0 +1,73 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.*;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.MealInfoFoodLinkRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * 음식-식단 연결을 ID 만으로 추가/삭제하는 서비스입니다.
+ * 추가는 INSERT IGNORE 한 문장으로 중복 확인까지 처리하고, 삭제는 기본키(@EmbeddedId) 조회 후 연결 엔티티를 직접 delete 합니다.
+ * 양쪽 엔티티는 연결 엔티티의 지연 로딩 프록시로만 참조하며, 이미 읽어 온 컬렉션만 메모리에서 맞춰 주므로
+ * 인기 음식처럼 연결이 매우 많은 쪽의 컬렉션을 초기화하지 않습니다.
+ */
+@Service
+public class FoodLinkService {
+
+    private static final String INSERT_LINK_SQL = "INSERT IGNORE INTO meal_info_food_link (meal_info_id, food_id, intake_amount) " +
+            "VALUES (?, ?, ?)";
+
+    private final MealInfoFoodLinkRepository mealInfoFoodLinkRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public FoodLinkService(
+            MealInfoFoodLinkRepository mealInfoFoodLinkRepository,
+            EntityManager entityManager,
+            JdbcTemplate jdbcTemplate
+    ) {
+        this.mealInfoFoodLinkRepository = mealInfoFoodLinkRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 식단과 음식을 연결합니다. 이미 연결되어 있으면 아무것도 하지 않습니다. (식단/음식의 존재 여부는 호출하는 쪽에서 확인)
+     * 확인과 추가가 한 문장이라 같은 연결을 동시에 요청해도 기본키 중복 예외 없이 한 요청만 추가합니다.
+     * @return 새로 연결했으면 true
+     */
+    @Transactional
+    public boolean linkMealInfo(Long mealInfoId, Long foodId, Float intakeAmount) {
+        if (jdbcTemplate.update(INSERT_LINK_SQL, mealInfoId, foodId, intakeAmount) == 0) {
+            return false;
+        }
+        // 이미 읽어 온 컬렉션이 있으면 방금 추가한 행을 관리 엔티티로 읽어 맞춰 줌
+        MealInfoFoodLink link = entityManager.find(MealInfoFoodLink.class, MealInfoFoodLinkId.of(mealInfoId, foodId));
+        MealInfo mealInfo = link.getMealInfo();
+        Food food = link.getFood();
+        LazyLinks.addIfLoaded(mealInfo, mealInfo::getMealInfoFoodLinks, link);
+        LazyLinks.addIfLoaded(food, food::getMealInfoFoodLinks, link);
+        return true;
+    }
+
+    /**
+     * @return 연결이 있어서 삭제했으면 true
+     */
+    @Transactional
+    public boolean unlinkMealInfo(Long mealInfoId, Long foodId) {
+        Optional<MealInfoFoodLink> found = mealInfoFoodLinkRepository.findById(MealInfoFoodLinkId.of(mealInfoId, foodId));
+        if (found.isEmpty()) {
+            return false;
+        }
+        MealInfoFoodLink link = found.get();
+        // 읽어 온 컬렉션에 남아 있으면 cascade 로 다시 저장되므로 먼저 뺌
+        LazyLinks.removeIfLoaded(link.getMealInfo(), link.getMealInfo()::getMealInfoFoodLinks, link);
+        LazyLinks.removeIfLoaded(link.getFood(), link.getFood()::getMealInfoFoodLinks, link);
+        mealInfoFoodLinkRepository.delete(link);
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodNameIndex;
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodTaxonomy;
+import kr.ac.dankook.ace.healthy_meal_backend.model.HangulSuggestIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * 음식 분류 트리의 대분류/대표식품명/식품명 각각에 대한 n-gram 색인과 자동완성용 접두어 색인을 들고 있는 매처입니다.
+ * 색인은 {@link FoodTaxonomyService} 스냅샷으로부터 만들어지며, 스냅샷이 교체되면 다음 조회 때 다시 만들어집니다.
+ * 분석 파이프라인의 음식명 검증/해석과 음식명 검색/자동완성 API 가 함께 사용합니다.
+ */
+@Service
+public class FoodNameMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodNameMatcher.class);
+
+    public enum Field {
+        MAJOR_CATEGORY, REPRESENTATIVE_FOOD, NAME
+    }
+
+    private record Indexes(FoodTaxonomy taxonomy, FoodNameIndex majorCategories,
+                           FoodNameIndex representativeFoods, FoodNameIndex names,
+                           HangulSuggestIndex majorCategorySuggest, HangulSuggestIndex representativeFoodSuggest,
+                           HangulSuggestIndex nameSuggest) {
+        FoodNameIndex of(Field field) {
+            return switch (field) {
+                case MAJOR_CATEGORY -> majorCategories;
+                case REPRESENTATIVE_FOOD -> representativeFoods;
+                case NAME -> names;
+            };
+        }
+
+        HangulSuggestIndex suggestOf(Field field) {
+            return switch (field) {
+                case MAJOR_CATEGORY -> majorCategorySuggest;
+                case REPRESENTATIVE_FOOD -> representativeFoodSuggest;
+                case NAME -> nameSuggest;
+            };
+        }
+    }
+
+    private final FoodTaxonomyService foodTaxonomyService;
+    private volatile Indexes indexes;
+
+    public FoodNameMatcher(FoodTaxonomyService foodTaxonomyService) {
+        this.foodTaxonomyService = foodTaxonomyService;
+    }
+
+    public List<FoodNameIndex.Match> search(Field field, String query, int k) {
+        return indexes().of(field).search(query, k);
+    }
+
+    public List<FoodNameIndex.Match> search(Field field, String query, int k, Predicate<String> filter) {
+        return indexes().of(field).search(query, k, filter);
+    }
+
+    /**
+     * 질의로 시작하는 이름을 최대 k 개 반환합니다. (음절/자모 접두어, 초성 질의 지원)
+     */
+    public List<String> suggest(Field field, String query, int k) {
+        return indexes().suggestOf(field).suggest(query, k);
+    }
+
+    public Optional<FoodNameIndex.Match> best(Field field, String query, double minScore, Predicate<String> filter) {
+        return indexes().of(field).best(query, minScore, filter);
+    }
+
+    /**
+     * 현재 분류 트리 스냅샷에 맞는 색인을 반환합니다. 스냅샷이 바뀌었으면 새로 만듭니다.
+     */
+    private Indexes indexes() {
+        FoodTaxonomy taxonomy = foodTaxonomyService.current();
+        Indexes current = indexes;
+        if (current != null && current.taxonomy() == taxonomy) {
+            return current;
+        }
+        synchronized (this) {
+            current = indexes;
+            if (current == null || current.taxonomy() != taxonomy) {
+                current = build(taxonomy);
+                indexes = current;
+            }
+            return current;
+        }
+    }
+
+    private Indexes build(FoodTaxonomy taxonomy) {
+        long start = System.currentTimeMillis();
+        List<String> representativeFoods = new ArrayList<>(taxonomy.getRepresentativeFoodSet());
+        List<String> names = taxonomy.getNames(representativeFoods);
+        Indexes built = new Indexes(
+                taxonomy,
+                FoodNameIndex.build(taxonomy.getMajorCategories()),
+                FoodNameIndex.build(representativeFoods),
+                FoodNameIndex.build(names),
+                HangulSuggestIndex.build(taxonomy.getMajorCategories()),
+                HangulSuggestIndex.build(representativeFoods),
+                HangulSuggestIndex.build(names)
+        );
+        logger.info("음식명 색인 생성 (v{}) : 대분류 {}개, 대표식품명 {}개, 식품명 {}개, 소요시간 {} ms",
+                taxonomy.getVersion(), built.majorCategories().size(), built.representativeFoods().size(),
+                built.names().size(), System.currentTimeMillis() - start);
+        return built;
+    }
+}
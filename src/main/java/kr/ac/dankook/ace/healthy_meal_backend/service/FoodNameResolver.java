@@ -0,0 +1,61 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodNameIndex;
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodTaxonomy;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * GPT 가 자유롭게 적은 음식명을 음식 분류 트리(대분류 > 대표식품명 > 식품명)를 따라 실제 식품명으로 해석합니다.
+ * 대분류로 대표식품명 후보를 좁힌 뒤, 가까운 대표식품명 몇 개의 하위 식품명 중에서 {@link FoodNameMatcher} 로 가장 비슷한 이름을 고릅니다.
+ */
+@Component
+public class FoodNameResolver {
+
+    private static final double REPRESENTATIVE_THRESHOLD = 0.30;
+    private static final int REPRESENTATIVE_CANDIDATES = 3;
+
+    private final FoodNameMatcher foodNameMatcher;
+
+    public FoodNameResolver(FoodNameMatcher foodNameMatcher) {
+        this.foodNameMatcher = foodNameMatcher;
+    }
+
+    public record Resolution(String name, String representativeFood, double score) {}
+
+    /**
+     * @param dishName GPT 가 적은 음식명
+     * @param majorCategory GPT 가 고른 대분류 (분류 트리에 없으면 전체 대표식품명에서 찾음)
+     */
+    public Optional<Resolution> resolve(String dishName, String majorCategory, FoodTaxonomy taxonomy) {
+        if (dishName == null || dishName.isBlank()) {
+            return Optional.empty();
+        }
+
+        Set<String> representatives = new HashSet<>(taxonomy.getRepresentativeFoods(majorCategory));
+        Predicate<String> representativeFilter = representatives.isEmpty() ? name -> true : representatives::contains;
+        List<FoodNameIndex.Match> closestRepresentatives = foodNameMatcher
+                .search(FoodNameMatcher.Field.REPRESENTATIVE_FOOD, dishName, REPRESENTATIVE_CANDIDATES, representativeFilter)
+                .stream()
+                .filter(match -> match.score() >= REPRESENTATIVE_THRESHOLD)
+                .toList();
+
+        Resolution best = null;
+        for (FoodNameIndex.Match representative : closestRepresentatives) {
+            Set<String> names = new HashSet<>(taxonomy.getNames(representative.term()));
+            Optional<FoodNameIndex.Match> name = foodNameMatcher.best(FoodNameMatcher.Field.NAME, dishName, 0, names::contains);
+            if (name.isEmpty()) continue;
+            // 대표식품명이 가까울수록 하위 식품명도 신뢰할 수 있으므로 두 점수를 함께 반영
+            double score = (name.get().score() + representative.score()) / 2;
+            if (best == null || score > best.score()) {
+                best = new Resolution(name.get().term(), representative.term(), score);
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+}
@@ -0,0 +1,91 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.Food;
+import kr.ac.dankook.ace.healthy_meal_backend.event.FoodCatalogChangedEvent;
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodNutrition;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.FoodRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * 음식별 {@link FoodNutrition} 캐시입니다. 음식 ID 와 식품명으로 찾을 수 있으며,
+ * 처음 조회할 때 한 번 만들어 두고 음식 카탈로그가 바뀌면 모두 비웁니다.
+ * 섭취량 계산과 1회 제공량 조회가 음식마다 제공량 문자열을 파싱하거나 DB 를 조회하지 않도록 합니다.
+ */
+@Service
+public class FoodNutritionCache {
+
+    private final FoodRepository foodRepository;
+    private final Cache<Long, FoodNutrition> byId;
+    private final Cache<String, Optional<FoodNutrition>> byName;
+
+    public FoodNutritionCache(
+            FoodRepository foodRepository,
+            MeterRegistry meterRegistry,
+            @Value("${food.nutrition-cache.max-size:20000}") long maxSize
+    ) {
+        this.foodRepository = foodRepository;
+        this.byId = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.byName = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "food.nutrition.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byName, "food.nutrition.by-name");
+    }
+
+    /**
+     * 이미 읽어 온 음식 엔티티의 영양 정보를 반환합니다. DB 를 조회하지 않습니다.
+     */
+    public FoodNutrition of(Food food) {
+        return byId.get(food.getId(), id -> FoodNutrition.of(food));
+    }
+
+    /**
+     * 식품명으로 영양 정보를 찾습니다. 같은 이름이 여러 개면 첫 번째 음식을 사용합니다. 없는 이름도 캐시됩니다.
+     */
+    public Optional<FoodNutrition> findByName(String name) {
+        return byName.get(name, key -> foodRepository.findFirstByName(key).map(this::of));
+    }
+
+    /**
+     * 여러 식품명을 한 번에 찾습니다. 캐시에 없는 이름들만 IN 조회 한 번으로 읽습니다.
+     * @return 식품명 -> 영양 정보 (없는 이름은 빠짐)
+     */
+    public Map<String, FoodNutrition> findAllByName(Collection<String> names) {
+        Map<String, Optional<FoodNutrition>> found = byName.getAll(names, missing -> {
+            Map<String, Optional<FoodNutrition>> loaded = new HashMap<>();
+            for (Food food : foodRepository.findAllByNameIn(new ArrayList<>(missing))) {
+                loaded.merge(food.getName(), Optional.of(of(food)),
+                        (a, b) -> a.get().getFoodId() <= b.get().getFoodId() ? a : b);
+            }
+            missing.forEach(name -> loaded.putIfAbsent(name, Optional.empty()));
+            return loaded;
+        });
+        Map<String, FoodNutrition> result = new HashMap<>();
+        found.forEach((name, nutrition) -> nutrition.ifPresent(value -> result.put(name, value)));
+        return result;
+    }
+
+    /**
+     * 여러 음식 ID 를 한 번에 찾습니다. 캐시에 없는 ID 들만 IN 조회 한 번으로 읽습니다.
+     * @return 음식 ID -> 영양 정보 (없는 음식은 빠짐)
+     */
+    public Map<Long, FoodNutrition> findAllById(Collection<Long> foodIds) {
+        return byId.getAll(foodIds, missing -> {
+            Map<Long, FoodNutrition> loaded = new HashMap<>();
+            foodRepository.findAllById(new ArrayList<>(missing)).forEach(food -> loaded.put(food.getId(), FoodNutrition.of(food)));
+            return loaded;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFoodCatalogChanged(FoodCatalogChangedEvent event) {
+        byId.invalidateAll();
+        byName.invalidateAll();
+    }
+}
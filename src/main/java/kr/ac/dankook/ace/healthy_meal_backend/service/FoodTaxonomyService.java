@@ -0,0 +1,62 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import kr.ac.dankook.ace.healthy_meal_backend.event.FoodCatalogChangedEvent;
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodTaxonomy;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.FoodRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 음식 분류 트리(대분류 → 대표식품명 → 식품명)를 메모리에 들고 있는 서비스입니다.
+ * 기동 시 food 테이블을 한 번 읽어 스냅샷을 만들고, 음식 추가/삭제가 커밋되면 새 스냅샷으로 원자적으로 교체합니다.
+ * 분석 파이프라인은 {@link #current()} 만 사용하므로 후보 목록을 위해 DB를 조회하지 않습니다.
+ */
+@Service
+public class FoodTaxonomyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodTaxonomyService.class);
+
+    private final FoodRepository foodRepository;
+    private final AtomicReference<FoodTaxonomy> current = new AtomicReference<>(FoodTaxonomy.empty());
+
+    public FoodTaxonomyService(FoodRepository foodRepository) {
+        this.foodRepository = foodRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * 현재 음식 분류 트리 스냅샷을 반환합니다. 반환된 스냅샷은 불변입니다.
+     */
+    public FoodTaxonomy current() {
+        return current.get();
+    }
+
+    /**
+     * food 테이블을 다시 읽어 스냅샷을 교체합니다.
+     * 동시에 여러 번 호출되어도 나중에 만든 스냅샷이 이전 것을 덮어쓰도록 직렬화합니다.
+     */
+    public synchronized FoodTaxonomy refresh() {
+        long start = System.currentTimeMillis();
+        long nextVersion = current.get().getVersion() + 1;
+        FoodTaxonomy taxonomy = FoodTaxonomy.build(foodRepository.findAllTaxonomyRows(), nextVersion);
+        current.set(taxonomy);
+        logger.info("음식 분류 트리 갱신 (v{}) : 식품 {}개, 대분류 {}개, 소요시간 {} ms",
+                taxonomy.getVersion(), taxonomy.getFoodCount(), taxonomy.getMajorCategories().size(),
+                System.currentTimeMillis() - start);
+        return taxonomy;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFoodCatalogChanged(FoodCatalogChangedEvent event) {
+        refresh();
+    }
+}
@@ -5,12 +5,16 @@ import org.springframework.stereotype.Service;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.MemoryCacheImageOutputStream;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.util.Base64;
+import java.util.Iterator;
 
 @Service
 public class ImagePreprocessorService {
@@ -18,6 +22,59 @@ public class ImagePreprocessorService {
     // 기본 퀄리티 값 (70%)
     private static final float DEFAULT_QUALITY = 0.7f;
 
+    // 분석용 이미지 최장변(px)
+    public static final int SMALL_LONGEST = 896;   // 1차(대분류) 용
+    public static final int LARGE_LONGEST = 1024;  // 2,3차(대표/최종) 용
+
+    // 1차용: Q≈0.65 로 시작, 너무 작으면(<80KB) Q를 올림
+    private static final ByteBudget SMALL_BUDGET = new ByteBudget(80_000, Integer.MAX_VALUE, 0.65f, 0.65f, 0.80f);
+    // 2·3차용: Q≈0.74 로 시작, 너무 크면(>300KB) Q를 낮춤
+    private static final ByteBudget LARGE_BUDGET = new ByteBudget(0, 300_000, 0.74f, 0.60f, 0.74f);
+
+    // 품질 탐색 최대 인코딩 횟수
+    private static final int MAX_QUALITY_STEPS = 3;
+
+    /**
+     * JPEG 로 인코딩된 이미지와 그 크기 정보
+     */
+    public record EncodedImage(byte[] bytes, int width, int height, float quality) {
+        public int size() {
+            return bytes.length;
+        }
+    }
+
+    /**
+     * 분석에 사용하는 두 가지 압축 버전 (1차용 small, 2·3차용 large)
+     */
+    public record AnalysisImages(EncodedImage small, EncodedImage large) {
+    }
+
+    /**
+     * 인코딩 결과 바이트 크기 목표 범위와 품질 탐색 범위
+     */
+    private record ByteBudget(int minBytes, int maxBytes, float initialQuality, float minQuality, float maxQuality) {
+    }
+
+    /**
+     * 원본 이미지를 한 번만 디코딩해서 두 가지 분석용 JPEG 를 만듭니다.
+     * 원본이 목표 크기보다 훨씬 크면 디코딩 단계에서 서브샘플링하여 (12MP 사진 기준) 힙 사용량을 크게 줄이고,
+     * 목표 크기별 리사이즈는 한 번씩만 수행합니다. 각 버전은 바이트 예산 안에 들도록 품질을 탐색합니다.
+     *
+     * @param input 원본 이미지 바이트
+     */
+    public AnalysisImages toAnalysisImages(byte[] input) throws IOException {
+        BufferedImage decoded = decode(input, LARGE_LONGEST);
+        BufferedImage large = resize(decoded, LARGE_LONGEST);
+        decoded = null; // 디코딩 원본은 바로 해제 (리사이즈 결과만 유지)
+
+        EncodedImage largeJpeg = encodeWithinBudget(large, LARGE_BUDGET);
+        BufferedImage small = resize(large, SMALL_LONGEST);
+        large = null;
+        EncodedImage smallJpeg = encodeWithinBudget(small, SMALL_BUDGET);
+
+        return new AnalysisImages(smallJpeg, largeJpeg);
+    }
+
     /**
      * 입력: 이미지 바이트
      * 출력: JPEG로 재인코딩된 raw base64 문자열(접두사 없이)
@@ -27,20 +84,84 @@ public class ImagePreprocessorService {
      * @param quality JPEG 품질 0.0~1.0 (예: 0.65f)
      */
     public String toJpegBase64(byte[] input, int longest, float quality) throws IOException {
-        BufferedImage src = ImageIO.read(new ByteArrayInputStream(input));
-        if (src == null) throw new IOException("Unsupported or corrupted image");
-
-        int w = src.getWidth(), h = src.getHeight();
-        double scale = 1.0;
-        int maxSide = Math.max(w, h);
-        if (maxSide > longest) {
-            scale = (double) longest / (double) maxSide;
+        BufferedImage resized = resize(decode(input, longest), longest);
+        return Base64.getEncoder().encodeToString(encodeJpeg(resized, quality));
+    }
+
+    public byte[] base64ToBytes(String rawBase64) {
+        // "data:image/..;base64," 접두사가 없는 순수 base64를 가정
+        return Base64.getDecoder().decode(rawBase64);
+    }
+
+    /**
+     * 이미지를 디코딩합니다. 최장변이 목표의 2배 이상이면 정수배 서브샘플링으로 읽어
+     * 목표 이상 크기의 이미지만 메모리에 올립니다.
+     */
+    private BufferedImage decode(byte[] input, int longest) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(input))) {
+            Iterator<ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+            if (readers == null || !readers.hasNext()) throw new IOException("Unsupported or corrupted image");
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int maxSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = maxSide / longest;
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                BufferedImage src = reader.read(0, param);
+                if (src == null) throw new IOException("Unsupported or corrupted image");
+                return src;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage src, int longest) throws IOException {
+        int maxSide = Math.max(src.getWidth(), src.getHeight());
+        if (maxSide <= longest) {
+            return src;
         }
+        double scale = (double) longest / (double) maxSide;
+        return Thumbnails.of(src).scale(scale).asBufferedImage();
+    }
+
+    /**
+     * 바이트 예산 안에 들어오는 품질을 이분 탐색합니다 (최대 MAX_QUALITY_STEPS 회 인코딩).
+     * 예산을 만족하는 결과가 없으면 상한을 넘지 않는 가장 큰 결과, 그것도 없으면 가장 작은 결과를 반환합니다.
+     */
+    private EncodedImage encodeWithinBudget(BufferedImage image, ByteBudget budget) throws IOException {
+        float low = budget.minQuality();
+        float high = budget.maxQuality();
+        float quality = budget.initialQuality();
+        EncodedImage underBudget = null;  // 하한 미달 중 가장 큰 결과
+        EncodedImage overBudget = null;   // 상한 초과 중 가장 작은 결과
+
+        for (int step = 0; step < MAX_QUALITY_STEPS; step++) {
+            byte[] bytes = encodeJpeg(image, quality);
+            EncodedImage candidate = new EncodedImage(bytes, image.getWidth(), image.getHeight(), quality);
 
-        BufferedImage resized = (scale < 1.0)
-                ? Thumbnails.of(src).scale(scale).asBufferedImage()
-                : src;
+            if (bytes.length < budget.minBytes()) {
+                underBudget = candidate;
+                low = quality;
+            } else if (bytes.length > budget.maxBytes()) {
+                overBudget = candidate;
+                high = quality;
+            } else {
+                return candidate;
+            }
+            if (high - low < 0.02f) {
+                break;
+            }
+            quality = (low + high) / 2f;
+        }
+        return underBudget != null ? underBudget : overBudget;
+    }
 
+    private byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
         try (MemoryCacheImageOutputStream ios = new MemoryCacheImageOutputStream(baos)) {
@@ -51,16 +172,11 @@ public class ImagePreprocessorService {
 
             // progressive + 메타 제거(재인코딩으로 대부분 제거됨)
             writer.prepareWriteSequence(null);
-            writer.writeToSequence(new IIOImage(resized, null, null), param);
+            writer.writeToSequence(new IIOImage(image, null, null), param);
             writer.endWriteSequence();
         } finally {
             writer.dispose();
         }
-        return Base64.getEncoder().encodeToString(baos.toByteArray());
-    }
-
-    public byte[] base64ToBytes(String rawBase64) {
-        // "data:image/..;base64," 접두사가 없는 순수 base64를 가정
-        return Base64.getDecoder().decode(rawBase64);
+        return baos.toByteArray();
     }
 }
@@ -0,0 +1,193 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import kr.ac.dankook.ace.healthy_meal_backend.action.MealInfoAction;
+import kr.ac.dankook.ace.healthy_meal_backend.dto.AnalysisJobDTO;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.MealInfo;
+import kr.ac.dankook.ace.healthy_meal_backend.model.AnalysisJob;
+import kr.ac.dankook.ace.healthy_meal_backend.model.AnalyzedFoods;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisStage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * GPT 식단 분석을 비동기 작업으로 실행하고 상태를 관리하는 서비스입니다.
+ * 요청 스레드는 작업 ID만 받아 바로 반환되고, 3단계 분석은 분석 전용 스레드풀에서 트랜잭션 없이 실행됩니다.
+ * 클라이언트는 작업을 폴링하거나 SSE 로 단계별 진행 상황을 구독할 수 있습니다.
+ */
+@Service
+public class MealAnalysisJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MealAnalysisJobService.class);
+
+    private final MealInfoFoodAnalyzeService mealInfoFoodAnalyzeService;
+    private final MealInfoAction mealInfoAction;
+    private final ThreadPoolTaskExecutor analysisExecutor;
+    private final Duration jobRetention;
+    private final Duration sseTimeout;
+
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public MealAnalysisJobService(
+            MealInfoFoodAnalyzeService mealInfoFoodAnalyzeService,
+            MealInfoAction mealInfoAction,
+            @Qualifier("analysisExecutor") ThreadPoolTaskExecutor analysisExecutor,
+            @Value("${analysis.job.retention:30m}") Duration jobRetention,
+            @Value("${analysis.job.sse-timeout:3m}") Duration sseTimeout
+    ) {
+        this.mealInfoFoodAnalyzeService = mealInfoFoodAnalyzeService;
+        this.mealInfoAction = mealInfoAction;
+        this.analysisExecutor = analysisExecutor;
+        this.jobRetention = jobRetention;
+        this.sseTimeout = sseTimeout;
+    }
+
+    /**
+     * 분석 작업을 등록하고 바로 반환합니다.
+     * 스레드풀 큐가 가득 찬 경우 TaskRejectedException 이 발생합니다.
+     */
+    public AnalysisJobDTO submit(Long mealInfoId, String userId) {
+        MealInfo mealInfo = mealInfoFoodAnalyzeService.validateMealInfoId(mealInfoId, userId);
+        String imgPath = mealInfo.getImgPath();
+
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), userId, mealInfoId);
+        jobs.put(job.getId(), job);
+        try {
+            analysisExecutor.execute(() -> run(job, imgPath));
+        } catch (RuntimeException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        logger.info("식단분석 작업 등록 : job={}, mealInfo={}", job.getId(), mealInfoId);
+        return AnalysisJobDTO.from(job);
+    }
+
+    public AnalysisJobDTO getJob(String jobId, String userId) {
+        return AnalysisJobDTO.from(findJob(jobId, userId));
+    }
+
+    /**
+     * 작업 진행 상황을 SSE 로 구독합니다. 구독 즉시 현재 상태를 한 번 보내고,
+     * 이미 끝난 작업이면 그대로 스트림을 종료합니다.
+     */
+    public SseEmitter subscribe(String jobId, String userId) {
+        AnalysisJob job = findJob(jobId, userId);
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+
+        synchronized (job) {
+            if (!job.getStatus().isFinished()) {
+                List<SseEmitter> jobEmitters = emitters.computeIfAbsent(jobId, k -> new CopyOnWriteArrayList<>());
+                jobEmitters.add(emitter);
+                emitter.onCompletion(() -> jobEmitters.remove(emitter));
+                emitter.onTimeout(() -> jobEmitters.remove(emitter));
+                emitter.onError(e -> jobEmitters.remove(emitter));
+            }
+            AnalysisJobDTO snapshot = AnalysisJobDTO.from(job);
+            try {
+                emitter.send(SseEmitter.event().name(eventName(job)).data(snapshot));
+                if (job.getStatus().isFinished()) {
+                    emitter.complete();
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }
+        return emitter;
+    }
+
+    private void run(AnalysisJob job, String imgPath) {
+        try {
+            AnalyzedFoods foodResult = mealInfoAction.analyzeStoredImage(imgPath, new AnalysisProgressListener() {
+                @Override
+                public void onStageStarted(AnalysisStage stage) {
+                    job.startStage(stage);
+                    publish(job);
+                }
+
+                @Override
+                public void onStageCompleted(AnalysisStage stage, List<String> result) {
+                    job.completeStage(stage, result);
+                    publish(job);
+                }
+            });
+            List<Integer> foodWeight = mealInfoFoodAnalyzeService.getFoodWeight(foodResult);
+            synchronized (job) {
+                job.complete(foodResult.names(), foodWeight);
+                publish(job);
+                closeEmitters(job.getId());
+            }
+            logger.info("식단분석 작업 완료 : job={}, 결과={}", job.getId(), foodResult.names());
+        } catch (Exception e) {
+            logger.error("식단분석 작업 실패 : job={}", job.getId(), e);
+            synchronized (job) {
+                job.fail(e.getMessage());
+                publish(job);
+                closeEmitters(job.getId());
+            }
+        }
+    }
+
+    private void publish(AnalysisJob job) {
+        List<SseEmitter> jobEmitters = emitters.get(job.getId());
+        if (jobEmitters == null || jobEmitters.isEmpty()) {
+            return;
+        }
+        AnalysisJobDTO snapshot = AnalysisJobDTO.from(job);
+        String name = eventName(job);
+        for (SseEmitter emitter : jobEmitters) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(snapshot));
+            } catch (IOException | IllegalStateException e) {
+                jobEmitters.remove(emitter);
+            }
+        }
+    }
+
+    private void closeEmitters(String jobId) {
+        List<SseEmitter> jobEmitters = emitters.remove(jobId);
+        if (jobEmitters != null) {
+            jobEmitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private String eventName(AnalysisJob job) {
+        return switch (job.getStatus()) {
+            case COMPLETED -> "completed";
+            case FAILED -> "failed";
+            default -> "progress";
+        };
+    }
+
+    private AnalysisJob findJob(String jobId, String userId) {
+        AnalysisJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new NoSuchElementException("분석 작업을 찾을 수 없습니다: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * 끝난 지 보관기간이 지난 작업을 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${analysis.job.cleanup-interval-ms:60000}")
+    public void evictExpiredJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.getStatus().isFinished() && job.getUpdatedAt().isBefore(threshold));
+    }
+}
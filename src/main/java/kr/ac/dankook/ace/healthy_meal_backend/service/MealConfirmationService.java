@@ -0,0 +1,129 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import jakarta.transaction.Transactional;
+import kr.ac.dankook.ace.healthy_meal_backend.dto.UpdateMealInfoRequestDTO;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.Food;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.MealInfo;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.NutrientType;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.FoodRepository;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.MealInfoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 분석 결과로 확정된 음식 목록을 식단에 기록합니다.
+ * <ul>
+ *     <li>식단은 (식단 ID, 유저 ID) 로 한 번에 조회하며 행을 잠가 같은 식단의 동시 확정을 직렬화 (유저의 전체 식단 목록을 읽지 않음)</li>
+ *     <li>확정된 식품명은 IN 조회 한 번으로 음식으로 바꿈</li>
+ *     <li>meal_info_food_link 는 JDBC batch upsert 한 번 + 빠진 음식 삭제 한 번으로 교체 (연결 컬렉션을 읽지 않음)</li>
+ *     <li>섭취량 변화는 {@link NutrientIntakeService} 가 원장 batch insert 와 일별 섭취량 upsert 로 반영</li>
+ * </ul>
+ */
+@Service
+public class MealConfirmationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MealConfirmationService.class);
+    private static final String UPSERT_LINK_SQL = "INSERT INTO meal_info_food_link (meal_info_id, food_id, intake_amount) " +
+            "VALUES (?, ?, ?) AS new ON DUPLICATE KEY UPDATE intake_amount = new.intake_amount";
+    private static final String DELETE_LINKS_SQL = "DELETE FROM meal_info_food_link WHERE meal_info_id = ?";
+
+    private final MealInfoRepository mealInfoRepository;
+    private final FoodRepository foodRepository;
+    private final FoodNutritionCache foodNutritionCache;
+    private final NutrientIntakeService nutrientIntakeService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public MealConfirmationService(
+            MealInfoRepository mealInfoRepository,
+            FoodRepository foodRepository,
+            FoodNutritionCache foodNutritionCache,
+            NutrientIntakeService nutrientIntakeService,
+            JdbcTemplate jdbcTemplate
+    ) {
+        this.mealInfoRepository = mealInfoRepository;
+        this.foodRepository = foodRepository;
+        this.foodNutritionCache = foodNutritionCache;
+        this.nutrientIntakeService = nutrientIntakeService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 식단의 음식 연결을 확정된 음식 목록으로 교체하고 (남는 음식은 섭취량 갱신, 빠진 음식은 연결 제거) 일기와 섭취량을 반영합니다.
+     * 같은 음식이 여러 번 오면 마지막 섭취량을 사용합니다.
+     * @return 갱신된 식단 (연결 컬렉션은 응답 변환 시 DB 에서 새로 읽음)
+     */
+    @Transactional
+    public MealInfo confirm(String userId, Long mealInfoId, UpdateMealInfoRequestDTO request) {
+        List<String> names = request.getConfirmedFoods() == null ? List.of() : request.getConfirmedFoods();
+        List<Float> amounts = request.getIntakeAmounts() == null ? List.of() : request.getIntakeAmounts();
+        if (names.size() != amounts.size()) {
+            throw new IllegalArgumentException("섭취량과 음식 리스트 길이가 맞지 않음");
+        }
+        // 식단 행을 잠근 뒤, 원장 도입 전에 확정된 식단이면 연결을 바꾸기 전에 현재 연결을 원장 시작 행으로 기록
+        MealInfo mealInfo = mealInfoRepository.findByIdAndUserIdForUpdate(mealInfoId, userId)
+                .orElseThrow(() -> new NoSuchElementException("식단 정보를 찾을 수 없습니다: " + mealInfoId));
+        nutrientIntakeService.openLedger(mealInfo, userId);
+
+        Map<String, Food> foodsByName = resolveFoods(names);
+        Map<Long, Food> foods = new LinkedHashMap<>();
+        Map<Long, Float> amountsByFood = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String foodName = names.get(i);
+            Food food = foodsByName.get(foodName);
+            if (food == null) {
+                throw new IllegalArgumentException(foodName + " 에 해당하는 음식이 없음");
+            }
+            foods.put(food.getId(), food);
+            amountsByFood.put(food.getId(), amounts.get(i));
+        }
+
+        replaceLinks(mealInfoId, amountsByFood);
+        mealInfo.setDiary(request.getDiary());
+
+        // 섭취 식단에 따른 영양소 섭취량 계산 -> 섭취 원장에 차이만 기록 후 DailyIntake Update
+        Map<Long, double[]> contributions = new HashMap<>();
+        amountsByFood.forEach((foodId, amount) -> {
+            double[] contribution = new double[NutrientType.values().length];
+            foodNutritionCache.of(foods.get(foodId)).addServings(contribution, amount);
+            contributions.put(foodId, contribution);
+        });
+        nutrientIntakeService.applyMealContributions(mealInfo, userId, contributions);
+
+        logger.debug("식단 확정 ({}, 식단 {}) : 음식 {}개", userId, mealInfoId, amountsByFood.size());
+        return mealInfo;
+    }
+
+    /**
+     * 식품명들을 IN 조회 한 번으로 찾습니다. 같은 이름의 음식이 여러 개면 ID 가 가장 작은 음식을 사용합니다.
+     */
+    private Map<String, Food> resolveFoods(List<String> names) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Food> foodsByName = new HashMap<>();
+        for (Food food : foodRepository.findAllByNameIn(new HashSet<>(names))) {
+            foodsByName.merge(food.getName(), food, (a, b) -> a.getId() <= b.getId() ? a : b);
+        }
+        return foodsByName;
+    }
+
+    private void replaceLinks(Long mealInfoId, Map<Long, Float> amountsByFood) {
+        if (amountsByFood.isEmpty()) {
+            jdbcTemplate.update(DELETE_LINKS_SQL, mealInfoId);
+            return;
+        }
+        List<Object[]> upserts = new ArrayList<>(amountsByFood.size());
+        amountsByFood.forEach((foodId, amount) -> upserts.add(new Object[]{mealInfoId, foodId, amount}));
+        jdbcTemplate.batchUpdate(UPSERT_LINK_SQL, upserts);
+
+        String placeholders = String.join(", ", Collections.nCopies(amountsByFood.size(), "?"));
+        List<Object> args = new ArrayList<>(amountsByFood.size() + 1);
+        args.add(mealInfoId);
+        args.addAll(amountsByFood.keySet());
+        jdbcTemplate.update(DELETE_LINKS_SQL + " AND food_id NOT IN (" + placeholders + ")", args.toArray());
+    }
+}
@@ -1,17 +1,29 @@
 package kr.ac.dankook.ace.healthy_meal_backend.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
+import kr.ac.dankook.ace.healthy_meal_backend.config.OpenAiStageClients;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.Food;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.MealInfo;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.User;
+import kr.ac.dankook.ace.healthy_meal_backend.model.AnalyzedFoods;
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodNameIndex;
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodNutrition;
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodTaxonomy;
+import kr.ac.dankook.ace.healthy_meal_backend.model.ImageSource;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisContextMode;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisEngineMode;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisStage;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.FoodRepository;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.MealInfoRepository;
+import kr.ac.dankook.ace.healthy_meal_backend.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
@@ -19,6 +31,10 @@ import org.springframework.stereotype.Service;
 
 import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -31,31 +47,63 @@ public class MealInfoFoodAnalyzeService {
     private static final String OPENAI_CONV = "https://api.oepnai.com/v1/conversations";
     private static final String MODEL4 = "gpt-4o";
     private static final String MODEL5 = "gpt-5";
+    private static final double MATCH_THRESHOLD = 0.4;
     private final FoodRepository foodRepository;
     private final MealInfoRepository mealInfoRepository;
+    private final UserRepository userRepository;
     private final RestClient convClient;
-    private final RestClient respClient;
+    private final OpenAiStageClients stageClients;
     private final ImagePreprocessorService imagePreprocessorService;
+    private final FoodTaxonomyService foodTaxonomyService;
+    private final AnalysisResultCache analysisResultCache;
+    private final SingleShotAnalysisEngine singleShotAnalysisEngine;
+    private final FoodNameMatcher foodNameMatcher;
+    private final FoodNutritionCache foodNutritionCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${openai.analysis.context-mode:previous-response}")
+    private AnalysisContextMode contextMode;
+    @Value("${openai.analysis.engine:staged}")
+    private AnalysisEngineMode engineMode;
 
     private static final Logger logger = LoggerFactory.getLogger(MealInfoFoodAnalyzeService.class);
 
     @Autowired
     public MealInfoFoodAnalyzeService(
             MealInfoRepository mealInfoRepository,
+            UserRepository userRepository,
             FoodRepository foodRepository,
             @Qualifier("convClient") RestClient convClient,
-            @Qualifier("respClient") RestClient respClient,
-            ImagePreprocessorService imagePreprocessorService
+            OpenAiStageClients stageClients,
+            ImagePreprocessorService imagePreprocessorService,
+            FoodTaxonomyService foodTaxonomyService,
+            AnalysisResultCache analysisResultCache,
+            SingleShotAnalysisEngine singleShotAnalysisEngine,
+            FoodNameMatcher foodNameMatcher,
+            FoodNutritionCache foodNutritionCache,
+            ObjectMapper objectMapper
     ) {
         this.mealInfoRepository = mealInfoRepository;
-        this.respClient = respClient;
+        this.userRepository = userRepository;
+        this.stageClients = stageClients;
         this.convClient = convClient;
         this.foodRepository = foodRepository;
         this.imagePreprocessorService = imagePreprocessorService;
+        this.foodTaxonomyService = foodTaxonomyService;
+        this.analysisResultCache = analysisResultCache;
+        this.singleShotAnalysisEngine = singleShotAnalysisEngine;
+        this.foodNameMatcher = foodNameMatcher;
+        this.foodNutritionCache = foodNutritionCache;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * 저장된 식단 이미지로 식단을 기록합니다. 트랜잭션에는 유저 조회와 식단 INSERT 만 들어갑니다.
+     */
     @Transactional
-    public MealInfo createMealInfo(String imgPath, User user) {
+    public MealInfo createMealInfo(String imgPath, String userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다: " + userId));
         MealInfo mealInfo = new MealInfo();
         mealInfo.setImgPath(imgPath);
         mealInfo.setUser(user);
@@ -84,70 +132,131 @@ public class MealInfoFoodAnalyzeService {
 
      */
 
-    public List<String> gptAnalyzeImage(String base64Image) {
-        long start = System.currentTimeMillis();
-
-        // === 이미지 전처리: base64 원본 → 두 가지 압축 버전 생성 ===
-        String smallB64; // 1차(대분류) 용: 896px / Q≈0.65
-        String largeB64; // 2,3차(대표/최종) 용: 1024px / Q≈0.74
+    /**
+     * 저장된 원본 이미지를 분석 시점에 전처리한 뒤 분석합니다.
+     * 업로드 시점에 분석용 이미지가 만들어지지 않은 (이전에 기록된) 식단에 사용됩니다.
+     */
+    public AnalyzedFoods gptAnalyzeOriginalImage(Path originalPath, AnalysisProgressListener listener) {
+        // === 이미지 전처리: 원본을 한 번만 디코딩해서 두 가지 압축 버전 생성 ===
+        byte[] original;
         try {
-            byte[] original = imagePreprocessorService.base64ToBytes(base64Image);
-
-            // 1) 1차용
-            smallB64 = imagePreprocessorService.toJpegBase64(original, 896, 0.65f);
-            // 너무 작게 나왔으면(예: <80KB) Q를 살짝 올려 한 번 보정
-            if (Base64.getDecoder().decode(smallB64).length < 80_000) {
-                smallB64 = imagePreprocessorService.toJpegBase64(original, 896, 0.72f);
-            }
-
-            // 2) 2·3차용
-            largeB64 = imagePreprocessorService.toJpegBase64(original, 1024, 0.74f);
-            // 너무 크면(>300KB) Q 낮춰 한 번 보정
-            if (Base64.getDecoder().decode(largeB64).length > 300_000) {
-                largeB64 = imagePreprocessorService.toJpegBase64(original, 1024, 0.68f);
-            }
+            original = Files.readAllBytes(originalPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ImageSource small; // 1차(대분류) 용: 896px / Q≈0.65 (80KB 미만이면 Q 상향)
+        ImageSource large; // 2,3차(대표/최종) 용: 1024px / Q≈0.74 (300KB 초과면 Q 하향)
+        try {
+            ImagePreprocessorService.AnalysisImages images = imagePreprocessorService.toAnalysisImages(original);
+            small = ImageSource.ofBytes(images.small().bytes());
+            large = ImageSource.ofBytes(images.large().bytes());
+            logger.info("이미지 전처리 완료 : small {}B (Q{}), large {}B (Q{})",
+                    images.small().size(), images.small().quality(), images.large().size(), images.large().quality());
         } catch (Exception e) {
             logger.warn("이미지 전처리 실패, 원본 사용: {}", e.getMessage());
-            smallB64 = base64Image;
-            largeB64 = base64Image;
+            small = ImageSource.ofBytes(original);
+            large = small;
         }
 // === 전처리 끝 ===
-        base64Image = smallB64;
-        String imageID = UUID.randomUUID().toString();
+        return gptAnalyzeImage(small, large, listener);
+    }
+
+    /**
+     * 전처리된 분석용 JPEG 를 설정된 방식(openai.analysis.engine)으로 분석합니다.
+     * 이미지는 요청 body 를 쓸 때 base64 로 인코딩하면서 바로 흘려보냅니다.
+     * @param smallJpeg 3단계 분석의 1차(대분류) 용 896px JPEG
+     * @param largeJpeg 단일호출 분석용 1024px JPEG
+     * @return 식별된 식품명 (단일호출 분석이면 추정 섭취량 포함)
+     */
+    public AnalyzedFoods gptAnalyzeImage(ImageSource smallJpeg, ImageSource largeJpeg, AnalysisProgressListener listener) {
+        long start = System.currentTimeMillis();
+
+        // 후보 목록은 인메모리 분류 트리 스냅샷에서 가져옴 (분석 도중 갱신되어도 같은 스냅샷 사용)
+        FoodTaxonomy taxonomy = foodTaxonomyService.current();
+
+        // 같은 이미지(전처리 결과 기준)를 이미 분석했다면 캐시된 결과 반환
+        // 분석 방식마다 결과가 다를 수 있으므로 방식별로 캐시 키를 구분
+        String cacheKey = engineMode == AnalysisEngineMode.SINGLE_SHOT
+                ? "single-" + analysisResultCache.keyOf(largeJpeg)
+                : analysisResultCache.keyOf(smallJpeg);
+        Optional<AnalyzedFoods> cached = analysisResultCache.get(cacheKey);
+        if (cached.isPresent()) {
+            logger.info("GPT 사진분석 캐시 적중 : {}", cached.get());
+            return cached.get();
+        }
+
+        AnalyzedFoods foodResult = analyzeWith(engineMode, smallJpeg, largeJpeg, taxonomy, listener);
+        analysisResultCache.put(cacheKey, foodResult, taxonomy.getFingerprint());
+
+        // 최종 데이터베이스 검증 및 결과 반환 -> 이미 검증됨
+        /*for (String foodName : foodResult) {
+            foodList.addAll(foodRepository.findAllByName(foodName));
+        }*/
+
+        long end = System.currentTimeMillis();
+        logger.info("GPT 사진분석 소요시간 : {} s", (end - start)/1000);
+
+        return foodResult;
+    }
+
+    /**
+     * 캐시를 거치지 않고 지정한 방식으로 분석합니다. 분석 방식 간 비교(벤치마크)에 사용됩니다.
+     */
+    public AnalyzedFoods analyzeWithEngine(AnalysisEngineMode engine, ImageSource smallJpeg, ImageSource largeJpeg) {
+        return analyzeWith(engine, smallJpeg, largeJpeg, foodTaxonomyService.current(), AnalysisProgressListener.NONE);
+    }
+
+    private AnalyzedFoods analyzeWith(AnalysisEngineMode engine, ImageSource smallJpeg, ImageSource largeJpeg,
+                                      FoodTaxonomy taxonomy, AnalysisProgressListener listener) {
+        if (engine == AnalysisEngineMode.SINGLE_SHOT) {
+            return singleShotAnalysisEngine.analyze(largeJpeg, taxonomy, listener).toAnalyzedFoods();
+        }
+        return AnalyzedFoods.of(stagedAnalyzeImage(smallJpeg, taxonomy, listener));
+    }
 
+    /**
+     * 대분류 > 대표식품명 > 최종 식품명 순서로 GPT 를 3번 호출하여 분석합니다.
+     */
+    private List<String> stagedAnalyzeImage(ImageSource smallJpeg, FoodTaxonomy taxonomy, AnalysisProgressListener listener) {
+        long start = System.currentTimeMillis();
         int foodCount = 0;
-        List<String> majorCategories = foodRepository.findDistinctMajorCategoryNative();
+        List<String> majorCategories = taxonomy.getMajorCategories();
         List<String> majorCategoriesResult;
         List<String> representativeFoods = new ArrayList<>();
         List<String> representativeFoodsResult;
         List<String> foods = new ArrayList<>();
         List<String> foodResult = new ArrayList<>();
 
-        // Conversation(대화방) 생성
-        String convID;
-        convID = createAnalyze();
+        // 단계 사이 맥락: 대화방 모드면 Conversation(대화방) 생성, 아니면 직전 응답 id 로 이어감
+        AnalysisContext context = contextMode == AnalysisContextMode.CONVERSATION
+                ? AnalysisContext.ofConversation(createAnalyze())
+                : AnalysisContext.chained();
 
         // 첫번째 gpt 분석 - 식단 이미지로 맞는 대분류 매칭 -> firstanalyzeImage()
-        majorCategoriesResult = firstanalyzeImage(base64Image, majorCategories, convID);
+        listener.onStageStarted(AnalysisStage.MAJOR_CATEGORY);
+        majorCategoriesResult = firstanalyzeImage(smallJpeg, majorCategories, context);
+        listener.onStageCompleted(AnalysisStage.MAJOR_CATEGORY, majorCategoriesResult);
         foodCount = majorCategoriesResult.size();
         if (majorCategoriesResult.isEmpty()) {
             System.out.println("대분류 분석실패");
             return foodResult;
         }
         for (String majorCategory : majorCategoriesResult) {
-            representativeFoods.addAll(foodRepository.findDistinctRepresentativeFoodByMajorCategory(majorCategory));
+            representativeFoods.addAll(taxonomy.getRepresentativeFoods(majorCategory));
         }
         long mid1 = System.currentTimeMillis();
         logger.info("GPT 대분류식별 소요시간 : {} s", (mid1 - start)/1000);
 
         // 두번째 gpt 분석 - 대표 음식 매칭 - analyzeImage()
-        representativeFoodsResult = analyzeImage(representativeFoods, foodCount, convID);
+        listener.onStageStarted(AnalysisStage.REPRESENTATIVE_FOOD);
+        representativeFoodsResult = analyzeImage(representativeFoods, foodCount, context);
+        listener.onStageCompleted(AnalysisStage.REPRESENTATIVE_FOOD, representativeFoodsResult);
         if (representativeFoodsResult.isEmpty()) {
             System.out.println("대표식품명 분석실패");
             return foodResult;
         }
         for (String representativeFood : representativeFoodsResult) {
-            foods.addAll(foodRepository.findDistinctNameByRepresentativeFood(representativeFood));
+            foods.addAll(taxonomy.getNames(representativeFood));
             // 마지막 gpt 분석 - 최종 음식 매칭 - analyzeImage()
             //foodResult.addAll(analyzeImage(foods));
         }
@@ -155,16 +264,9 @@ public class MealInfoFoodAnalyzeService {
         logger.info("GPT 대표식품식별 소요시간 : {} s", (mid2 - start)/1000);
 
         // 마지막 gpt 분석 - 최종 음식 매칭 - analyzeImage()
-        foodResult = finalanalyzeImage(foods, foodCount, convID);
-
-        // 최종 데이터베이스 검증 및 결과 반환 -> 이미 검증됨
-        /*for (String foodName : foodResult) {
-            foodList.addAll(foodRepository.findAllByName(foodName));
-        }*/
-
-        long end = System.currentTimeMillis();
-        logger.info("GPT 사진분석 소요시간 : {} s", (end - start)/1000);
-
+        listener.onStageStarted(AnalysisStage.FINAL_FOOD);
+        foodResult = finalanalyzeImage(foods, foodCount, context);
+        listener.onStageCompleted(AnalysisStage.FINAL_FOOD, foodResult);
         return foodResult;
     }
     private String createAnalyze() {
@@ -200,7 +302,7 @@ public class MealInfoFoodAnalyzeService {
             throw new RuntimeException("conv 생성중 오류가 발생했습니다: " + e.getMessage(), e);
         }
     }
-    private List<String> firstanalyzeImage(String base64Image, List<String> categories, String convID) {
+    private List<String> firstanalyzeImage(ImageSource image, List<String> categories, AnalysisContext context) {
         // 리스트를 문자열로 변환
         String categoriesString = String.join(", ", categories);
         System.out.println("GPT 선제시목록(" + categories.size() + ")개 : " + categoriesString);
@@ -229,9 +331,8 @@ public class MealInfoFoodAnalyzeService {
         );
 
         // 요청 body 구성
-        Map<String, Object> requestBody = Map.of(
+        Map<String, Object> requestBody = context.attach(Map.of(
                     "model", MODEL4,
-                    "conversation", convID,
                     "input", List.of(
                             Map.of(
                                     "role", "user",
@@ -242,35 +343,40 @@ public class MealInfoFoodAnalyzeService {
                                             ),
                                             Map.of(
                                                     "type", "input_image",
-                                                    "image_url", "data:image/jpeg;base64," + base64Image
+                                                    // 실제 이미지는 요청 body 를 쓸 때 스트리밍으로 채워짐
+                                                    "image_url", OpenAiImageRequestBody.IMAGE_PLACEHOLDER
                                                     //"image_url", "https://images.unsplash.com/photo-1604382354936-07c5d9983bd3?fm=jpg&q=60&w=3000&ixlib=rb-4.1.0&ixid=M3wxMjA3fDB8MHxzZWFyY2h8N3x8cGl6emF8ZW58MHx8MHx8fDA%3D"
                                             )
                                     )
                             )
                     )
                 //"max_output_tokens", 1000  // 여러 음식 이름을 위해 토큰 증가
-        );
+        ));
 
         try {
             // OpenAI API 호출
-            Map<String, Object> response = respClient.post()
+            Map<String, Object> response = stageClients.forStage(AnalysisStage.MAJOR_CATEGORY).post()
                     .header("Authorization", "Bearer " + openAiApiKey)
-                    .body(requestBody)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new OpenAiImageRequestBody(requestBody, image, objectMapper))
                     .retrieve()
                     .body(new ParameterizedTypeReference<Map<String, Object>>() {});
 
+            // 다음 단계가 이 응답을 이어받도록 id 기록
+            context.advance(response);
+
             // 응답에서 텍스트 추출
             String result = extractContentFromResponse(response);
             System.out.println("GPT 응답결과 : " + result);
 
             // 결과를 리스트로 변환하고 검증
-            return parseAndValidateResult(result, categories);
+            return parseAndValidateResult(result, categories, FoodNameMatcher.Field.MAJOR_CATEGORY);
 
         } catch (Exception e) {
             throw new RuntimeException("이미지 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
     }
-    private List<String> analyzeImage(List<String> categories, int foodCount, String convID) {
+    private List<String> analyzeImage(List<String> categories, int foodCount, AnalysisContext context) {
         // 리스트를 문자열로 변환
         String categoriesString = String.join(", ", categories);
         System.out.println("GPT 선제시목록(" + categories.size() + ")개 : " + categoriesString);
@@ -295,9 +401,8 @@ public class MealInfoFoodAnalyzeService {
         );
 
         // 요청 body 구성
-        Map<String, Object> requestBody = Map.of(
+        Map<String, Object> requestBody = context.attach(Map.of(
                 "model", MODEL4,
-                "conversation", convID,
                 "input", List.of(
                         Map.of(
                                 "role", "user",
@@ -315,28 +420,31 @@ public class MealInfoFoodAnalyzeService {
                         )
                 )
                 //"max_output_tokens", 1000  // 여러 음식 이름을 위해 토큰 증가
-        );
+        ));
 
         try {
             // OpenAI API 호출
-            Map<String, Object> response = respClient.post()
+            Map<String, Object> response = stageClients.forStage(AnalysisStage.REPRESENTATIVE_FOOD).post()
                     .header("Authorization", "Bearer " + openAiApiKey)
                     .body(requestBody)
                     .retrieve()
                     .body(new ParameterizedTypeReference<Map<String, Object>>() {});
 
+            // 다음 단계가 이 응답을 이어받도록 id 기록
+            context.advance(response);
+
             // 응답에서 텍스트 추출
             String result = extractContentFromResponse(response);
             System.out.println("GPT 응답결과 : " + result);
 
             // 결과를 리스트로 변환하고 검증 -> 검증되지 못한 결과는 empty list<string>로 반환됨
-            return parseAndValidateResult(result, categories);
+            return parseAndValidateResult(result, categories, FoodNameMatcher.Field.REPRESENTATIVE_FOOD);
 
         } catch (Exception e) {
             throw new RuntimeException("이미지 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
     }
-    private List<String> finalanalyzeImage(List<String> categories, int foodCount, String convID) {
+    private List<String> finalanalyzeImage(List<String> categories, int foodCount, AnalysisContext context) {
         // 리스트를 문자열로 변환
         String categoriesString = String.join(", ", categories);
         System.out.println("GPT 선제시목록(" + categories.size() + ")개 : " + categoriesString);
@@ -361,9 +469,8 @@ public class MealInfoFoodAnalyzeService {
         );
 
         // 요청 body 구성
-        Map<String, Object> requestBody = Map.of(
+        Map<String, Object> requestBody = context.attach(Map.of(
                 "model", MODEL4,
-                "conversation", convID,
                 "input", List.of(
                         Map.of(
                                 "role", "user",
@@ -381,28 +488,31 @@ public class MealInfoFoodAnalyzeService {
                         )
                 )
                 //"max_output_tokens", 1000  // 여러 음식 이름을 위해 토큰 증가
-        );
+        ));
 
         try {
             // OpenAI API 호출
-            Map<String, Object> response = respClient.post()
+            Map<String, Object> response = stageClients.forStage(AnalysisStage.FINAL_FOOD).post()
                     .header("Authorization", "Bearer " + openAiApiKey)
                     .body(requestBody)
                     .retrieve()
                     .body(new ParameterizedTypeReference<Map<String, Object>>() {});
 
+            // 다음 단계가 이 응답을 이어받도록 id 기록
+            context.advance(response);
+
             // 응답에서 텍스트 추출
             String result = extractContentFromResponse(response);
             System.out.println("GPT 응답결과 : " + result);
 
             // 결과를 리스트로 변환하고 검증 -> 검증되지 못한 결과는 empty list<string>로 반환됨
-            return parseAndValidateResult(result, categories);
+            return parseAndValidateResult(result, categories, FoodNameMatcher.Field.NAME);
 
         } catch (Exception e) {
             throw new RuntimeException("이미지 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
     }
-    private List<String> parseAndValidateResult(String gptResponse, List<String> categories) {
+    private List<String> parseAndValidateResult(String gptResponse, List<String> categories, FoodNameMatcher.Field field) {
         List<String> validFoods = new ArrayList<>();
         String trimmedResponse = gptResponse.trim();        // 문자열 앞뒤공백 제거
 
@@ -420,14 +530,16 @@ public class MealInfoFoodAnalyzeService {
 
         // 각 음식이 실제 목록에 있는지 검증 (목록이 notnull일때만)
         if (!categories.isEmpty()) {
+            Set<String> candidates = new HashSet<>(categories);
             for (String detectedFood : detectedFoods) {
-                if (categories.contains(detectedFood)) {
+                if (candidates.contains(detectedFood)) {
                     validFoods.add(detectedFood);
                 } else {
-                    // 유사한 음식 찾기
-                    String closestMatch = findClosestMatch(detectedFood, categories);
-                    if (!"해당하는 레코드 없음".equals(closestMatch) && !validFoods.contains(closestMatch)) {
-                        validFoods.add(closestMatch);
+                    // 유사한 음식 찾기 (목록 안에서 n-gram 유사도가 가장 높은 이름)
+                    Optional<FoodNameIndex.Match> closestMatch =
+                            foodNameMatcher.best(field, detectedFood, MATCH_THRESHOLD, candidates::contains);
+                    if (closestMatch.isPresent() && !validFoods.contains(closestMatch.get().term())) {
+                        validFoods.add(closestMatch.get().term());
                     }
                 }
             }
@@ -441,11 +553,18 @@ public class MealInfoFoodAnalyzeService {
         return validFoods;
     }
 
-    public List<Integer> getFoodWeight(List<String> foods) {
+    /**
+     * 분석된 음식별 섭취량(g). 분석이 추정한 섭취량이 있으면 그 값을, 없으면 카탈로그의 1회 제공량을 사용합니다.
+     */
+    public List<Integer> getFoodWeight(AnalyzedFoods foods) {
+        Map<String, FoodNutrition> nutritions = foodNutritionCache.findAllByName(foods.names());
         List<Integer> foodWeights = new ArrayList<>();
-        for (String food : foods) {
-            Optional<Food> foodEntity = foodRepository.findFirstByName(food);
-            foodEntity.ifPresent(foodRecord -> foodWeights.add(Integer.parseInt(foodRecord.getWeight().replaceAll("[^\\d.]", ""))));
+        for (String food : foods.names()) {
+            FoodNutrition nutrition = nutritions.get(food);
+            if (nutrition != null) {
+                Integer portion = foods.portionGrams().get(food);
+                foodWeights.add(portion != null ? portion : Math.round(nutrition.getServingGrams()));
+            }
         }
         return foodWeights;
     }
@@ -676,19 +795,7 @@ public class MealInfoFoodAnalyzeService {
 
     private String extractContentFromResponse(Map<String, Object> response) {
         try {
-            List<Map<String, Object>> output = (List<Map<String, Object>>) response.get("output");
-            if (output == null || output.isEmpty()) return "해당없음";
-
-            StringBuilder sb = new StringBuilder();
-            for (Map<String, Object> msg : output) {
-                List<Map<String, Object>> content = (List<Map<String, Object>>) msg.get("content");
-                if (content == null) continue;
-                for (Map<String, Object> c : content) {
-                    Object t = c.get("text");
-                    if (t != null) sb.append(t.toString());
-                }
-            }
-            String text = sb.toString().trim();
+            String text = OpenAiResponses.outputText(response);
             return text.isEmpty() ? "해당없음" : text;
         } catch (Exception e) {
             return "해당없음";
@@ -715,18 +822,6 @@ public class MealInfoFoodAnalyzeService {
             return "해당없음";
         }
     }*/
-    private String findClosestMatch(String aiResponse, List<String> categories) {
-        String lowerResponse = aiResponse.toLowerCase();
-
-        for (String food : categories) {
-            if (lowerResponse.contains(food.toLowerCase()) ||
-                    food.toLowerCase().contains(lowerResponse)) {
-                return food;
-            }
-        }
-
-        return "해당없음";
-    }
     private ClientHttpRequestFactory createSimpleRequestFactory() {
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
         factory.setConnectTimeout(Duration.ofSeconds(30));  // 연결 타임아웃: 30초
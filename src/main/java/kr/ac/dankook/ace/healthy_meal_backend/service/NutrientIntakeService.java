@@ -2,110 +2,274 @@ package kr.ac.dankook.ace.healthy_meal_backend.service;
 
 import jakarta.transaction.Transactional;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.*;
+import kr.ac.dankook.ace.healthy_meal_backend.event.DailyIntakeChangedEvent;
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodNutrition;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.NutrientType;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.DailyIntakeRepository;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.MealInfoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.time.LocalDateTime;
+import java.util.*;
 
+/**
+ * 식단 단위 섭취 원장(meal_intake_ledger)과 일별 섭취량(daily_intake)을 관리합니다.
+ * <ul>
+ *     <li>원장 날짜는 식단 기록일(createdAt 의 날짜)입니다. 원장 도입 전에는 확정한 날(오늘)에 더하고 기록일에서 뺐습니다.</li>
+ *     <li>원장을 읽고 쓰기 전에 식단 행을 잠그므로(PESSIMISTIC_WRITE) 같은 식단의 동시 수정이 차이를 중복 반영하지 않습니다.</li>
+ *     <li>원장 도입 전에 확정된 식단(연결은 있지만 원장 행이 없음)은 연결을 바꾸기 전에 현재 연결을 원장의 시작 행으로 기록합니다.
+ *     그 기여분은 이미 일별 섭취량에 들어 있으므로 이때 daily_intake 는 건드리지 않습니다.</li>
+ * </ul>
+ */
 @Service
 public class NutrientIntakeService {
 
+    private static final Logger logger = LoggerFactory.getLogger(NutrientIntakeService.class);
+    private static final double[] ZERO = new double[NutrientType.values().length];
+    private static final double EPSILON = 1e-9;
+    private static final String INSERT_LEDGER_SQL = "INSERT INTO meal_intake_ledger " +
+            "(user_id, day, meal_info_id, food_id, energy_kcal, protein_g, fat_g, carbohydrate_g, " +
+            "sugars_g, cellulose_g, sodium_mg, cholesterol_mg, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SUM_COLUMNS = "SUM(energy_kcal), SUM(protein_g), SUM(fat_g), SUM(carbohydrate_g), " +
+            "SUM(sugars_g), SUM(cellulose_g), SUM(sodium_mg), SUM(cholesterol_mg)";
+    // 원장/연결은 잠금 읽기(FOR SHARE)로 읽음: 식단 행을 잠그기 전에 트랜잭션 스냅샷이 만들어졌더라도(REPEATABLE READ)
+    // 잠금을 기다리는 동안 다른 트랜잭션이 커밋한 원장 행을 빠뜨리지 않도록
+    private static final String SUM_LEDGER_BY_FOOD_SQL = "SELECT food_id, " + SUM_COLUMNS +
+            " FROM meal_intake_ledger WHERE meal_info_id = ? GROUP BY food_id FOR SHARE";
+    private static final String SUM_LEDGER_BY_DAY_SQL = "SELECT day, " + SUM_COLUMNS +
+            " FROM meal_intake_ledger WHERE user_id = ? AND day BETWEEN ? AND ? GROUP BY day ORDER BY day FOR SHARE";
+    private static final String LEDGER_MEAL_IDS_SQL = "SELECT DISTINCT meal_info_id FROM meal_intake_ledger " +
+            "WHERE user_id = ? AND day BETWEEN ? AND ? FOR SHARE";
+    private static final String LOCK_MEALS_SQL = "SELECT id FROM meal_info " +
+            "WHERE user_id = ? AND created_at >= ? AND created_at < ? ORDER BY id FOR UPDATE";
+    private static final String LINKS_SQL = "SELECT l.meal_info_id, l.food_id, l.intake_amount, m.created_at " +
+            "FROM meal_info_food_link l JOIN meal_info m ON m.id = l.meal_info_id ";
+    private static final String MEAL_LINKS_SQL = LINKS_SQL + "WHERE l.meal_info_id = ? FOR SHARE";
+    private static final String USER_LINKS_SQL = LINKS_SQL +
+            "WHERE m.user_id = ? AND m.created_at >= ? AND m.created_at < ? FOR SHARE";
+
     private final DailyIntakeRepository dailyIntakeRepository;
     private final MealInfoRepository mealInfoRepository;
+    private final FoodNutritionCache foodNutritionCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
     public NutrientIntakeService (
         DailyIntakeRepository dailyIntakeRepository,
-        MealInfoRepository mealInfoRepository
+        MealInfoRepository mealInfoRepository,
+        FoodNutritionCache foodNutritionCache,
+        ApplicationEventPublisher eventPublisher,
+        JdbcTemplate jdbcTemplate
     ) {
         this.dailyIntakeRepository = dailyIntakeRepository;
         this.mealInfoRepository = mealInfoRepository;
+        this.foodNutritionCache = foodNutritionCache;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public List<DailyIntake> getDailyIntakes(String userId) {
         return dailyIntakeRepository.findByUserId(userId);
     }
 
+    /**
+     * 음식 ID 별 현재 기여분을 섭취 원장과 일별 섭취량에 반영합니다. (식단 확정 및 수정 시 호출)
+     * 음식별로 원장에 기록된 기여분과 현재 기여분의 차이만 원장에 추가하고, 그 합을 일별 섭취량에 upsert 한 번으로 더합니다.
+     * 호출 전에 같은 트랜잭션에서 식단 행을 잠그고 {@link #openLedger} 를 거쳐야 합니다.
+     * @param contributions 음식 ID -> 영양소별 기여분 (NutrientType ordinal 순서)
+     */
     @Transactional
-    public void applyInsertDailyIntake(MealInfo mealInfo, User user) {
-        LocalDate now = LocalDate.now();
-        DailyIntake dailyIntake = dailyIntakeRepository.findByUserIdAndDay(user.getId(), now)
-                .stream()
-                .findFirst()
-                .orElseGet(() -> dailyIntakeRepository.save(createNewDailyIntake(user, now)));
-        int foodNum = mealInfo.getFoods().size();
-        mealInfo.getFoodLink().forEach(foodLink -> addFoodNutrition(dailyIntake, foodLink));
-    }
-    private DailyIntake createNewDailyIntake(User user, LocalDate now) {
-        DailyIntake dailyIntake = new DailyIntake();
-        dailyIntake.setUser(user);
-        dailyIntake.setDay(now);
-        return dailyIntake;
+    public void applyMealContributions(MealInfo mealInfo, String userId, Map<Long, double[]> contributions) {
+        reconcile(mealInfo, userId, contributions);
     }
-    private void addFoodNutrition(DailyIntake dailyIntake, MealInfoFoodLink foodLink) {
-        try {
-            Food food = foodLink.getFood();
-            float intakeRatio = Float.parseFloat(food.getWeight().replaceAll("[^\\d.]", "")) / 100;
-            intakeRatio *= foodLink.getIntakeAmount();
-            System.out.println("계산된 음식중량 비율 : " + intakeRatio);
-            System.out.println("이전 칼로리 섭취량 : " + dailyIntake.getEnergyKcal());
-            dailyIntake.addMealIntake(
-                    nullToZero(food.getEnergyKcal())*intakeRatio,
-                    nullToZero(food.getProteinG())*intakeRatio,
-                    nullToZero(food.getFatG())*intakeRatio,
-                    nullToZero(food.getCarbohydrateG())*intakeRatio,
-                    nullToZero(food.getSugarsG())*intakeRatio,
-                    nullToZero(food.getCelluloseG())*intakeRatio,
-                    nullToZero(food.getSodiumMg())*intakeRatio,
-                    nullToZero(food.getCholesterolMg())*intakeRatio
-            );
-            System.out.println("기록된 칼로리량 : " + nullToZero(food.getEnergyKcal())*intakeRatio);
-            System.out.println("기록된 단백질량 : " + nullToZero(food.getProteinG())*intakeRatio);
-            System.out.println("기록된 지방량 : " + nullToZero(food.getFatG())*intakeRatio);
-            System.out.println("기록된 탄수화물량 : " + nullToZero(food.getCarbohydrateG())*intakeRatio);
-            System.out.println("기록된 당류량 : " + nullToZero(food.getSugarsG())*intakeRatio);
-            System.out.println("기록된 식이섬유량 : " + nullToZero(food.getCelluloseG())*intakeRatio);
-            System.out.println("기록된 나트륨량 : " + nullToZero(food.getSodiumMg())*intakeRatio);
-            System.out.println("기록된 콜레스테롤량 : " + nullToZero(food.getCholesterolMg())*intakeRatio);
-            System.out.println("이후 칼로리 섭취량 : " + dailyIntake.getEnergyKcal());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw e;
+
+    /**
+     * 원장 도입 전에 확정된 식단이면 현재 연결(음식/섭취량)을 원장의 시작 행으로 기록합니다. daily_intake 는 바꾸지 않습니다.
+     * 식단 행을 잠근 트랜잭션 안에서, 식단의 연결을 바꾸기 전에 호출해야 합니다. 원장 행이 이미 있으면 아무것도 하지 않습니다.
+     */
+    @Transactional
+    public void openLedger(MealInfo mealInfo, String userId) {
+        if (!recordedContributions(mealInfo.getId()).isEmpty()) {
+            return;
         }
+        writeOpeningEntries(userId, jdbcTemplate.query(MEAL_LINKS_SQL, NutrientIntakeService::mapLink, mealInfo.getId()));
     }
-    private Double nullToZero(Double value) {
-        return value != null ? value : 0d;
+
+    /**
+     * 삭제되는 식단의 기여분을 원장에서 상쇄하고 일별 섭취량(식단 기록일)에서 뺍니다.
+     * 원장 도입 전에 확정된 식단은 현재 연결로 시작 행을 기록한 뒤 상쇄합니다.
+     */
+    @Transactional
+    public void applyDeleteDailyIntake(MealInfo mealInfo, User user) {
+        MealInfo locked = mealInfoRepository.findByIdAndUserIdForUpdate(mealInfo.getId(), user.getId())
+                .orElseThrow(() -> new NoSuchElementException("식단 정보를 찾을 수 없습니다: " + mealInfo.getId()));
+        openLedger(locked, user.getId());
+        reconcile(locked, user.getId(), Map.of());
     }
 
+    /**
+     * 기간 내 일별 섭취량을 섭취 원장 합계로 다시 만듭니다. 원장 행이 없는 날짜는 건드리지 않습니다.
+     * 기간 내 식단 행을 모두 잠그고, 원장 도입 전에 확정된 식단은 시작 행을 먼저 기록하므로 그 식단의 섭취량도 재구성에 포함됩니다.
+     * @return 다시 만든 날짜 수
+     */
     @Transactional
-    public void applyDeleteDailyIntake(MealInfo mealInfo, User user, LocalDate date) {
-        DailyIntake dailyIntake = dailyIntakeRepository.findByUserIdAndDay(user.getId(), date)
+    public int rebuildDailyIntakes(String userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작 날짜가 종료 날짜보다 늦음: " + from + " > " + to);
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        jdbcTemplate.queryForList(LOCK_MEALS_SQL, Long.class, userId, start, end);
+
+        Set<Long> recordedMeals = new HashSet<>(jdbcTemplate.queryForList(LEDGER_MEAL_IDS_SQL, Long.class, userId, from, to));
+        List<MealLink> unrecorded = jdbcTemplate.query(USER_LINKS_SQL, NutrientIntakeService::mapLink, userId, start, end)
                 .stream()
-                .findFirst()
-                .orElseThrow(NoSuchElementException::new);
-        int foodNum = mealInfo.getFoods().size();
-        mealInfo.getFoods().forEach(food -> deleteFoodNutrition(dailyIntake, food, foodNum));
+                .filter(link -> !recordedMeals.contains(link.mealInfoId()))
+                .toList();
+        writeOpeningEntries(userId, unrecorded);
+
+        Map<LocalDate, double[]> totals = new LinkedHashMap<>();
+        jdbcTemplate.query(SUM_LEDGER_BY_DAY_SQL, (ResultSet rs) -> {
+            totals.put(rs.getObject(1, LocalDate.class), readSums(rs));
+        }, userId, from, to);
+        totals.forEach((day, values) -> {
+            upsert(userId, day, values, true);
+            eventPublisher.publishEvent(new DailyIntakeChangedEvent(userId, day));
+        });
+        logger.info("일별 섭취량 재구성 ({}, {} ~ {}) : {}일 (원장 시작 행 {}건)", userId, from, to, totals.size(), unrecorded.size());
+        return totals.size();
+    }
+
+    private void reconcile(MealInfo mealInfo, String userId, Map<Long, double[]> desired) {
+        LocalDate day = dayOf(mealInfo.getCreatedAt());
+        Map<Long, double[]> recorded = recordedContributions(mealInfo.getId());
+
+        Set<Long> foodIds = new HashSet<>(desired.keySet());
+        foodIds.addAll(recorded.keySet());
+        double[] dayDelta = newVector();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> entries = new ArrayList<>();
+        for (Long foodId : foodIds) {
+            double[] target = desired.getOrDefault(foodId, ZERO);
+            double[] current = recorded.getOrDefault(foodId, ZERO);
+            double[] delta = newVector();
+            boolean changed = false;
+            for (int i = 0; i < delta.length; i++) {
+                delta[i] = target[i] - current[i];
+                dayDelta[i] += delta[i];
+                changed |= Math.abs(delta[i]) > EPSILON;
+            }
+            if (changed) {
+                entries.add(ledgerRow(userId, day, mealInfo.getId(), foodId, delta, now));
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        // IDENTITY 키라 JPA saveAll 은 행마다 INSERT 를 따로 보내므로 JDBC batch 로 한 번에 씀
+        jdbcTemplate.batchUpdate(INSERT_LEDGER_SQL, entries);
+        upsert(userId, day, dayDelta, false);
+        logger.debug("섭취 원장 반영 ({}, 식단 {}, {}) : {}건, 일별 증감 {}", userId, mealInfo.getId(), day,
+                entries.size(), Arrays.toString(dayDelta));
+        eventPublisher.publishEvent(new DailyIntakeChangedEvent(userId, day));
+    }
+
+    /**
+     * 식단의 음식별 현재 기여분(원장 합계)입니다. 원장 행이 없으면 빈 맵입니다.
+     */
+    private Map<Long, double[]> recordedContributions(Long mealInfoId) {
+        Map<Long, double[]> recorded = new HashMap<>();
+        jdbcTemplate.query(SUM_LEDGER_BY_FOOD_SQL, (ResultSet rs) -> {
+            recorded.put(rs.getLong(1), readSums(rs));
+        }, mealInfoId);
+        return recorded;
     }
-    private void deleteFoodNutrition(DailyIntake dailyIntake, Food food,  int foodNum) {
-        try {
-            float calRatio = Float.parseFloat(food.getWeight().replaceAll("[^\\d.]", "")) / 100;
-            dailyIntake.deleteMealIntake(
-                    nullToZero(food.getEnergyKcal())*calRatio/foodNum,
-                    nullToZero(food.getProteinG())*calRatio/foodNum,
-                    nullToZero(food.getFatG())*calRatio/foodNum,
-                    nullToZero(food.getCarbohydrateG())*calRatio/foodNum,
-                    nullToZero(food.getSugarsG())*calRatio/foodNum,
-                    nullToZero(food.getCelluloseG())*calRatio/foodNum,
-                    nullToZero(food.getSodiumMg())*calRatio/foodNum,
-                    nullToZero(food.getCholesterolMg())*calRatio/foodNum
-            );
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw e;
+
+    /**
+     * 원장 도입 전 식단의 연결을 원장 시작 행으로 기록합니다. 일별 섭취량은 바꾸지 않습니다.
+     */
+    private void writeOpeningEntries(String userId, List<MealLink> links) {
+        if (links.isEmpty()) {
+            return;
+        }
+        Set<Long> foodIds = new HashSet<>();
+        links.forEach(link -> foodIds.add(link.foodId()));
+        Map<Long, FoodNutrition> nutritions = foodNutritionCache.findAllById(foodIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> entries = new ArrayList<>(links.size());
+        for (MealLink link : links) {
+            FoodNutrition nutrition = nutritions.get(link.foodId());
+            if (nutrition == null) {
+                continue;
+            }
+            double[] contribution = newVector();
+            nutrition.addServings(contribution, link.intakeAmount());
+            entries.add(ledgerRow(userId, dayOf(link.createdAt()), link.mealInfoId(), link.foodId(), contribution, now));
         }
+        jdbcTemplate.batchUpdate(INSERT_LEDGER_SQL, entries);
+        logger.info("원장 도입 전 식단의 시작 행 기록 ({}) : {}건", userId, entries.size());
+    }
+
+    private void upsert(String userId, LocalDate day, double[] values, boolean overwrite) {
+        double energy = values[NutrientType.ENERGY.ordinal()];
+        double protein = values[NutrientType.PROTEIN.ordinal()];
+        double fat = values[NutrientType.FAT.ordinal()];
+        double carbohydrate = values[NutrientType.CARBOHYDRATE.ordinal()];
+        double sugars = values[NutrientType.SUGARS.ordinal()];
+        double cellulose = values[NutrientType.CELLULOSE.ordinal()];
+        double sodium = values[NutrientType.SODIUM.ordinal()];
+        double cholesterol = values[NutrientType.CHOLESTEROL.ordinal()];
+        if (overwrite) {
+            dailyIntakeRepository.upsertSetIntake(userId, day, energy, protein, fat, carbohydrate, sugars, cellulose, sodium, cholesterol);
+        } else {
+            dailyIntakeRepository.upsertAddIntake(userId, day, energy, protein, fat, carbohydrate, sugars, cellulose, sodium, cholesterol);
+        }
+    }
+
+    private static Object[] ledgerRow(String userId, LocalDate day, Long mealInfoId, Long foodId,
+                                      double[] delta, LocalDateTime createdAt) {
+        return new Object[]{userId, day, mealInfoId, foodId,
+                delta[NutrientType.ENERGY.ordinal()], delta[NutrientType.PROTEIN.ordinal()],
+                delta[NutrientType.FAT.ordinal()], delta[NutrientType.CARBOHYDRATE.ordinal()],
+                delta[NutrientType.SUGARS.ordinal()], delta[NutrientType.CELLULOSE.ordinal()],
+                delta[NutrientType.SODIUM.ordinal()], delta[NutrientType.CHOLESTEROL.ordinal()], createdAt};
+    }
+
+    private record MealLink(Long mealInfoId, Long foodId, float intakeAmount, LocalDateTime createdAt) {}
+
+    private static MealLink mapLink(ResultSet rs, int rowNum) throws SQLException {
+        return new MealLink(rs.getLong(1), rs.getLong(2), rs.getFloat(3), rs.getObject(4, LocalDateTime.class));
+    }
+
+    // SELECT 키, SUM_COLUMNS 순서의 행을 NutrientType ordinal 순서의 배열로 읽음
+    private static double[] readSums(ResultSet rs) throws SQLException {
+        double[] values = newVector();
+        values[NutrientType.ENERGY.ordinal()] = rs.getDouble(2);
+        values[NutrientType.PROTEIN.ordinal()] = rs.getDouble(3);
+        values[NutrientType.FAT.ordinal()] = rs.getDouble(4);
+        values[NutrientType.CARBOHYDRATE.ordinal()] = rs.getDouble(5);
+        values[NutrientType.SUGARS.ordinal()] = rs.getDouble(6);
+        values[NutrientType.CELLULOSE.ordinal()] = rs.getDouble(7);
+        values[NutrientType.SODIUM.ordinal()] = rs.getDouble(8);
+        values[NutrientType.CHOLESTEROL.ordinal()] = rs.getDouble(9);
+        return values;
+    }
+
+    private static LocalDate dayOf(LocalDateTime createdAt) {
+        return createdAt != null ? createdAt.toLocalDate() : LocalDate.now();
+    }
+
+    private static double[] newVector() {
+        return new double[NutrientType.values().length];
     }
 }
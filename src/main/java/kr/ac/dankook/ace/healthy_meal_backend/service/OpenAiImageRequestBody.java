@@ -0,0 +1,62 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.dankook.ace.healthy_meal_backend.model.ImageSource;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * 이미지가 포함된 OpenAI 요청 body 를 HTTP 요청 스트림에 직접 쓰는 클래스입니다.
+ * 요청 JSON 중 이미지 자리({@link #IMAGE_PLACEHOLDER})만 비워 직렬화한 뒤,
+ * 그 자리에 이미지 파일을 {@link Base64.Encoder#wrap(OutputStream)} 로 인코딩하면서 흘려보냅니다.
+ * base64 문자열이나 "data:image/jpeg;base64,..." 문자열을 힙에 만들지 않습니다.
+ */
+public class OpenAiImageRequestBody implements StreamingHttpOutputMessage.Body {
+
+    public static final String IMAGE_PLACEHOLDER = "__HEALTHY_MEAL_IMAGE__";
+
+    private static final byte[] DATA_URL_PREFIX = "\"data:image/jpeg;base64,".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] QUOTE = "\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] prefix;
+    private final byte[] suffix;
+    private final ImageSource image;
+
+    /**
+     * @param requestBody 이미지 자리에 IMAGE_PLACEHOLDER 문자열을 넣은 요청 body
+     * @param image 요청에 넣을 JPEG 이미지
+     */
+    public OpenAiImageRequestBody(Map<String, Object> requestBody, ImageSource image, ObjectMapper objectMapper)
+            throws IOException {
+        String json = objectMapper.writeValueAsString(requestBody);
+        String token = "\"" + IMAGE_PLACEHOLDER + "\"";
+        int index = json.indexOf(token);
+        if (index < 0) {
+            throw new IllegalArgumentException("요청 body 에 이미지 자리가 없습니다");
+        }
+        this.prefix = json.substring(0, index).getBytes(StandardCharsets.UTF_8);
+        this.suffix = json.substring(index + token.length()).getBytes(StandardCharsets.UTF_8);
+        this.image = image;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(prefix);
+        outputStream.write(DATA_URL_PREFIX);
+        // wrap 된 스트림을 닫아야 마지막 패딩이 써지므로, 요청 스트림 자체는 닫히지 않도록 감쌈
+        try (InputStream in = image.openStream();
+             OutputStream base64 = Base64.getEncoder().wrap(StreamUtils.nonClosing(outputStream))) {
+            in.transferTo(base64);
+        }
+        outputStream.write(QUOTE);
+        outputStream.write(suffix);
+        outputStream.flush();
+    }
+}
@@ -0,0 +1,34 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenAI Responses API 응답(Map) 처리 유틸리티입니다.
+ */
+final class OpenAiResponses {
+
+    private OpenAiResponses() {
+    }
+
+    /**
+     * 응답의 output 메시지들에 담긴 텍스트를 이어붙여 반환합니다. 텍스트가 없으면 빈 문자열을 반환합니다.
+     */
+    @SuppressWarnings("unchecked")
+    static String outputText(Map<String, Object> response) {
+        if (response == null) return "";
+        List<Map<String, Object>> output = (List<Map<String, Object>>) response.get("output");
+        if (output == null || output.isEmpty()) return "";
+
+        StringBuilder sb = new StringBuilder();
+        for (Map<String, Object> msg : output) {
+            List<Map<String, Object>> content = (List<Map<String, Object>>) msg.get("content");
+            if (content == null) continue;
+            for (Map<String, Object> c : content) {
+                Object t = c.get("text");
+                if (t != null) sb.append(t.toString());
+            }
+        }
+        return sb.toString().trim();
+    }
+}
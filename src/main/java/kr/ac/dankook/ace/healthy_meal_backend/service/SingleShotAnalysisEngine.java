@@ -0,0 +1,218 @@
+package kr.ac.dankook.ace.healthy_meal_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.ac.dankook.ace.healthy_meal_backend.model.AnalyzedFoods;
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodTaxonomy;
+import kr.ac.dankook.ace.healthy_meal_backend.model.ImageSource;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisStage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 한 번의 GPT 호출로 식단 이미지를 분석하는 엔진입니다.
+ * GPT 에는 대분류 목록만 주고 음식명(자유 서술), 대분류, 추정 섭취량(g)을 JSON schema 구조화 출력으로 받은 뒤,
+ * 음식명은 {@link FoodNameResolver} 로 로컬 분류 트리에서 실제 식품명으로 해석하고, 추정 섭취량은 식품명별로 합산해 음식 무게로 사용합니다.
+ * 대표식품명/식품명 후보 목록을 프롬프트로 보내지 않으므로 요청이 작고, 왕복도 한 번뿐입니다.
+ */
+@Service
+public class SingleShotAnalysisEngine {
+
+    private static final String MODEL4 = "gpt-4o";
+    private static final Logger logger = LoggerFactory.getLogger(SingleShotAnalysisEngine.class);
+
+    @Value("${openai.api.key}")
+    private String openAiApiKey;
+
+    private final RestClient respClient;
+    private final FoodNameResolver foodNameResolver;
+    private final ObjectMapper objectMapper;
+
+    public SingleShotAnalysisEngine(
+            @Qualifier("respClient") RestClient respClient,
+            FoodNameResolver foodNameResolver,
+            ObjectMapper objectMapper
+    ) {
+        this.respClient = respClient;
+        this.foodNameResolver = foodNameResolver;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * GPT 가 식별한 음식 하나와 분류 트리에서의 해석 결과
+     * @param resolvedName 해석된 식품명 (해석 실패시 null)
+     */
+    public record DetectedFood(String dishName, String majorCategory, Double portionGrams,
+                               String representativeFood, String resolvedName, double score) {}
+
+    public record Result(List<DetectedFood> detectedFoods) {
+        /** 해석에 성공한 식품명 (중복 제거, 식별 순서 유지) */
+        public List<String> foodNames() {
+            Set<String> names = new LinkedHashSet<>();
+            for (DetectedFood food : detectedFoods) {
+                if (food.resolvedName() != null) names.add(food.resolvedName());
+            }
+            return new ArrayList<>(names);
+        }
+
+        /**
+         * 식품명별 추정 섭취량(g). 여러 그릇이 같은 식품명으로 해석되면 합산하고, 추정치가 없는 음식은 빠집니다.
+         */
+        public Map<String, Integer> portionGrams() {
+            Map<String, Double> grams = new LinkedHashMap<>();
+            for (DetectedFood food : detectedFoods) {
+                if (food.resolvedName() != null && food.portionGrams() != null && food.portionGrams() > 0) {
+                    grams.merge(food.resolvedName(), food.portionGrams(), Double::sum);
+                }
+            }
+            Map<String, Integer> rounded = new LinkedHashMap<>();
+            grams.forEach((name, value) -> rounded.put(name, (int) Math.round(value)));
+            return rounded;
+        }
+
+        public AnalyzedFoods toAnalyzedFoods() {
+            return AnalyzedFoods.of(foodNames(), portionGrams());
+        }
+    }
+
+    public Result analyze(ImageSource image, FoodTaxonomy taxonomy, AnalysisProgressListener listener) {
+        long start = System.currentTimeMillis();
+        List<String> majorCategories = taxonomy.getMajorCategories();
+
+        listener.onStageStarted(AnalysisStage.MAJOR_CATEGORY);
+        String json = requestStructuredOutput(image, majorCategories);
+        List<DetectedFood> detectedFoods = new ArrayList<>();
+        for (JsonNode food : readFoods(json)) {
+            String dishName = food.path("name").asText("");
+            String majorCategory = food.path("major_category").asText("");
+            Double portion = food.path("portion_grams").isNumber() ? food.path("portion_grams").asDouble() : null;
+
+            Optional<FoodNameResolver.Resolution> resolution = foodNameResolver.resolve(dishName, majorCategory, taxonomy);
+            detectedFoods.add(new DetectedFood(dishName, majorCategory, portion,
+                    resolution.map(FoodNameResolver.Resolution::representativeFood).orElse(null),
+                    resolution.map(FoodNameResolver.Resolution::name).orElse(null),
+                    resolution.map(FoodNameResolver.Resolution::score).orElse(0.0)));
+        }
+        Result result = new Result(detectedFoods);
+
+        // 단일 호출이지만 진행상황 구독자는 단계별 이벤트를 기대하므로 해석 결과를 단계별로 나누어 알림
+        listener.onStageCompleted(AnalysisStage.MAJOR_CATEGORY, distinct(detectedFoods.stream().map(DetectedFood::majorCategory).toList()));
+        listener.onStageStarted(AnalysisStage.REPRESENTATIVE_FOOD);
+        listener.onStageCompleted(AnalysisStage.REPRESENTATIVE_FOOD, distinct(detectedFoods.stream().map(DetectedFood::representativeFood).toList()));
+        listener.onStageStarted(AnalysisStage.FINAL_FOOD);
+        listener.onStageCompleted(AnalysisStage.FINAL_FOOD, result.foodNames());
+
+        logger.info("GPT 단일호출 사진분석 결과 : {} ({} ms)", detectedFoods, System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private String requestStructuredOutput(ImageSource image, List<String> majorCategories) {
+        String prompt = """
+                이미지 속 음식을 그릇(접시) 단위로 모두 찾아주세요.
+
+                규칙:
+                1. name: 구체적인 한국어 음식명 (예: 김치찌개, 돼지고기 김치볶음밥)
+                2. major_category: 제공된 대분류 중 가장 적합한 것
+                3. portion_grams: 이미지에 보이는 1인분 섭취량 추정치(g)
+                4. 반찬이나 소스류도 하나의 음식으로 식별되면 포함
+                5. 식별되는 음식이 없다면 빈 목록
+                """;
+
+        // 대분류는 분류 트리에 있는 값만 고르도록 enum 으로 제한
+        Map<String, Object> majorCategoryProperty = majorCategories.isEmpty()
+                ? Map.of("type", "string")
+                : Map.of("type", "string", "enum", majorCategories);
+        Map<String, Object> schema = Map.of(
+                "type", "object",
+                "properties", Map.of(
+                        "foods", Map.of(
+                                "type", "array",
+                                "items", Map.of(
+                                        "type", "object",
+                                        "properties", Map.of(
+                                                "name", Map.of("type", "string"),
+                                                "major_category", majorCategoryProperty,
+                                                "portion_grams", Map.of("type", "number")
+                                        ),
+                                        "required", List.of("name", "major_category", "portion_grams"),
+                                        "additionalProperties", false
+                                )
+                        )
+                ),
+                "required", List.of("foods"),
+                "additionalProperties", false
+        );
+
+        // 요청 body 구성
+        Map<String, Object> requestBody = Map.of(
+                "model", MODEL4,
+                "input", List.of(
+                        Map.of(
+                                "role", "user",
+                                "content", List.of(
+                                        Map.of(
+                                                "type", "input_text",
+                                                "text", prompt
+                                        ),
+                                        Map.of(
+                                                "type", "input_image",
+                                                // 실제 이미지는 요청 body 를 쓸 때 스트리밍으로 채워짐
+                                                "image_url", OpenAiImageRequestBody.IMAGE_PLACEHOLDER
+                                        )
+                                )
+                        )
+                ),
+                "text", Map.of(
+                        "format", Map.of(
+                                "type", "json_schema",
+                                "name", "meal_analysis",
+                                "strict", true,
+                                "schema", schema
+                        )
+                )
+        );
+
+        try {
+            Map<String, Object> response = respClient.post()
+                    .header("Authorization", "Bearer " + openAiApiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new OpenAiImageRequestBody(requestBody, image, objectMapper))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<Map<String, Object>>() {});
+            return OpenAiResponses.outputText(response);
+        } catch (Exception e) {
+            throw new RuntimeException("이미지 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    private List<JsonNode> readFoods(String json) {
+        List<JsonNode> foods = new ArrayList<>();
+        if (json == null || json.isBlank()) {
+            return foods;
+        }
+        try {
+            objectMapper.readTree(json).path("foods").forEach(foods::add);
+        } catch (Exception e) {
+            logger.warn("GPT 구조화 응답 파싱 실패: {}", json);
+        }
+        return foods;
+    }
+
+    private static List<String> distinct(List<String> values) {
+        return values.stream().filter(value -> value != null && !value.isEmpty()).distinct().toList();
+    }
+}
@@ -10,6 +10,10 @@ public interface StorageService {
 
     String store(MultipartFile file);
 
+    String storeDerivative(String filename, String variant, byte[] bytes);
+
+    String derivativeFilename(String filename, String variant);
+
     Path load(String filename);
 
     Resource loadAsResource(String filename);
@@ -19,4 +23,6 @@ public interface StorageService {
     void deleteAll();
 
     String convertImageToBase64(String fileName);
+
+    Path getRootLocation();
 }
@@ -3,76 +3,76 @@ package kr.ac.dankook.ace.healthy_meal_backend.service;
 import jakarta.transaction.Transactional;
 import kr.ac.dankook.ace.healthy_meal_backend.dto.DietCriterionWeightDTO;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.DietCriterion;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.NutrientWeights;
 import kr.ac.dankook.ace.healthy_meal_backend.entity.User;
-import kr.ac.dankook.ace.healthy_meal_backend.repository.DietCriterionRepository;
+import kr.ac.dankook.ace.healthy_meal_backend.event.DailyIntakeChangedEvent;
+import kr.ac.dankook.ace.healthy_meal_backend.model.NutrientTargets;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.NutrientType;
 import kr.ac.dankook.ace.healthy_meal_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
-    private final DietCriterionRepository dietCriterionRepository;
+    private final DietCriterionService dietCriterionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public UserService(
             UserRepository userRepository,
-            DietCriterionRepository dietCriterionRepository
+            DietCriterionService dietCriterionService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
-        this.dietCriterionRepository = dietCriterionRepository;
+        this.dietCriterionService = dietCriterionService;
+        this.eventPublisher = eventPublisher;
     }
 
     public DietCriterionWeightDTO getDietCriterionWeight(String userId) {
-        Optional<User> user = userRepository.findById(userId);
-        if (user.isEmpty()) {
-            throw new NoSuchElementException("해당하는 사용자가 없음");
-        }
-        List<String> weights = Arrays.asList((user.get().getCritweight()).split("\\s+"));
+        User user = userRepository.findById(userId).orElseThrow(() -> new NoSuchElementException("해당하는 사용자가 없음"));
+        NutrientWeights weights = user.getNutrientWeights();
         return new DietCriterionWeightDTO(
-                Integer.parseInt(weights.get(0)),       //private Integer energyKcalWeight;
-                Integer.parseInt(weights.get(1)),       //private Integer carbohydrateGWeight;
-                Integer.parseInt(weights.get(2)),       //private Integer fatGWeight;
-                Integer.parseInt(weights.get(3)),       //private Integer proteinGWeight;
-                Integer.parseInt(weights.get(4)),       //private Integer celluloseGWeight;
-                Integer.parseInt(weights.get(5)),       //private Integer sugarsGWeight;
-                Integer.parseInt(weights.get(6)),       //private Integer sodiumMgWeight;
-                Integer.parseInt(weights.get(7))        //private Integer cholesterolMgWeight;
+                weights.percentOf(NutrientType.ENERGY),
+                weights.percentOf(NutrientType.CARBOHYDRATE),
+                weights.percentOf(NutrientType.FAT),
+                weights.percentOf(NutrientType.PROTEIN),
+                weights.percentOf(NutrientType.CELLULOSE),
+                weights.percentOf(NutrientType.SUGARS),
+                weights.percentOf(NutrientType.SODIUM),
+                weights.percentOf(NutrientType.CHOLESTEROL)
         );
     }
 
     @Transactional
     public void setDietCriterionWeight(String userId, DietCriterionWeightDTO dietCriterionWeightDTO) {
         User user = userRepository.findById(userId).orElseThrow(() -> new NoSuchElementException("해당하는 사용자가 없음"));
-        String critWeight = dietCriterionWeightDTO
-                .toList()
-                .stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(" "));
-        user.updateCritweight(critWeight);
+        user.updateNutrientWeights(NutrientWeights.ofPercents(
+                dietCriterionWeightDTO.getEnergyKcalWeight(),
+                dietCriterionWeightDTO.getCarbohydrateGWeight(),
+                dietCriterionWeightDTO.getFatGWeight(),
+                dietCriterionWeightDTO.getProteinGWeight(),
+                dietCriterionWeightDTO.getCelluloseGWeight(),
+                dietCriterionWeightDTO.getSugarsGWeight(),
+                dietCriterionWeightDTO.getSodiumMgWeight(),
+                dietCriterionWeightDTO.getCholesterolMgWeight()
+        ));
+        dietCriterionService.evictUser(userId);
+        eventPublisher.publishEvent(new DailyIntakeChangedEvent(userId, null));
     }
 
+    /**
+     * 사용자 가중치가 적용된 섭취 기준을 반환합니다.
+     * 반환되는 DietCriterion 은 영속성 컨텍스트와 무관한 복사본이므로, 기준 테이블 값이 바뀌지 않습니다.
+     */
     public DietCriterion applyWeight(String userId, Integer age, char gender) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new NoSuchElementException("해당하는 사용자가 없음"));
-        DietCriterion dietCriterion = dietCriterionRepository.findApplicableCriterion(age, gender).orElseThrow(() -> new NoSuchElementException(("해당하는 영양섭취 기준이 없음")));
-        List<String> weights = Arrays.asList((user.getCritweight()).split("\\s+"));
-        List<Float> floatWeights = weights.stream().map(Float::parseFloat).toList();
-        //System.out.println("칼로리계산량 : " + dietCriterion.getEnergyKcal() + " / 가중치계산량 : " + (floatWeights.get(0).intValue()/100));
-        dietCriterion.setEnergyKcal(dietCriterion.getEnergyKcal()*(floatWeights.get(0).intValue()/100f));
-        dietCriterion.setCarbohydrateG(dietCriterion.getCarbohydrateG()*(floatWeights.get(1).intValue()/100f));
-        dietCriterion.setFatG(dietCriterion.getFatG()*(floatWeights.get(2).intValue()/100f));
-        dietCriterion.setProteinG(dietCriterion.getProteinG()*(floatWeights.get(3).intValue()/100f));
-        dietCriterion.setCelluloseG(dietCriterion.getCelluloseG()*(floatWeights.get(4).intValue()/100f));
-        dietCriterion.setSugarsG(dietCriterion.getSugarsG()*(floatWeights.get(5).intValue()/100f));
-        dietCriterion.setSodiumMg(dietCriterion.getSodiumMg()*(floatWeights.get(6).intValue()/100f));
-        dietCriterion.setCholesterolMg(dietCriterion.getCholesterolMg()*(floatWeights.get(7).intValue()/100f));
-        return dietCriterion;
+        DietCriterionService.CriterionEntry entry = dietCriterionService.findApplicable(age, gender)
+                .orElseThrow(() -> new NoSuchElementException("해당하는 영양섭취 기준이 없음"));
+        NutrientTargets weighted = dietCriterionService.getWeightedTargets(userId, age, gender);
+        return weighted.toDietCriterion(entry.criterion());
     }
 }
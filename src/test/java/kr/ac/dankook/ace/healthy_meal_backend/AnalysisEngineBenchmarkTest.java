@@ -0,0 +1,154 @@
+package kr.ac.dankook.ace.healthy_meal_backend;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.ImageSource;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.AnalysisEngineMode;
+import kr.ac.dankook.ace.healthy_meal_backend.service.ImagePreprocessorService;
+import kr.ac.dankook.ace.healthy_meal_backend.service.MealInfoFoodAnalyzeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 기록해둔 식단 이미지 묶음으로 3단계 분석(STAGED)과 단일호출 분석(SINGLE_SHOT)을 비교합니다.
+ * 실제 OpenAI 를 호출하므로 -Danalysis.benchmark.images 로 이미지 디렉토리를 줄 때만 실행됩니다.
+ * <pre>
+ * ./gradlew test --tests '*AnalysisEngineBenchmarkTest' -Danalysis.benchmark.images=/path/to/images
+ * </pre>
+ * 이미지 디렉토리에 labels.csv (파일명,정답식품명|정답식품명...) 가 있으면 정답 대비 적중률도 계산합니다.
+ * 결과는 이미지 디렉토리의 benchmark-report.csv 에 이미지/방식별로 기록됩니다.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "analysis.benchmark.images", matches = ".+")
+public class AnalysisEngineBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisEngineBenchmarkTest.class);
+    private static final String LABELS_FILE = "labels.csv";
+    private static final String REPORT_FILE = "benchmark-report.csv";
+
+    @Autowired
+    private MealInfoFoodAnalyzeService mealInfoFoodAnalyzeService;
+
+    @Autowired
+    private ImagePreprocessorService imagePreprocessorService;
+
+    private final Path imageDirectory = Paths.get(System.getProperty("analysis.benchmark.images", "."));
+
+    private record Measurement(String image, AnalysisEngineMode engine, long millis, List<String> foods,
+                               Double recall, String error) {}
+
+    @Test
+    void compareEngines() throws Exception {
+        Map<String, Set<String>> labels = readLabels(imageDirectory.resolve(LABELS_FILE));
+        List<Path> images;
+        try (Stream<Path> files = Files.list(imageDirectory)) {
+            images = files.filter(this::isImage).sorted().toList();
+        }
+        logger.info("분석방식 벤치마크 시작 : 이미지 {}장, 정답 {}건", images.size(), labels.size());
+
+        List<Measurement> measurements = new ArrayList<>();
+        for (Path image : images) {
+            ImagePreprocessorService.AnalysisImages analysisImages =
+                    imagePreprocessorService.toAnalysisImages(Files.readAllBytes(image));
+            ImageSource small = ImageSource.ofBytes(analysisImages.small().bytes());
+            ImageSource large = ImageSource.ofBytes(analysisImages.large().bytes());
+            String name = image.getFileName().toString();
+
+            for (AnalysisEngineMode engine : AnalysisEngineMode.values()) {
+                measurements.add(measure(name, engine, small, large, labels.get(name)));
+            }
+        }
+
+        writeReport(measurements);
+        for (AnalysisEngineMode engine : AnalysisEngineMode.values()) {
+            logSummary(engine, measurements.stream().filter(m -> m.engine() == engine).toList());
+        }
+    }
+
+    private Measurement measure(String image, AnalysisEngineMode engine, ImageSource small, ImageSource large,
+                                Set<String> expected) {
+        long start = System.nanoTime();
+        try {
+            List<String> foods = mealInfoFoodAnalyzeService.analyzeWithEngine(engine, small, large).names();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            Double recall = null;
+            if (expected != null && !expected.isEmpty()) {
+                recall = (double) foods.stream().filter(expected::contains).distinct().count() / expected.size();
+            }
+            logger.info("[{}] {} : {} ms, {}", engine, image, millis, foods);
+            return new Measurement(image, engine, millis, foods, recall, null);
+        } catch (Exception e) {
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            logger.warn("[{}] {} 분석 실패: {}", engine, image, e.getMessage());
+            return new Measurement(image, engine, millis, List.of(), null, e.getMessage());
+        }
+    }
+
+    private void logSummary(AnalysisEngineMode engine, List<Measurement> measurements) {
+        long[] latencies = measurements.stream().filter(m -> m.error() == null).mapToLong(Measurement::millis).sorted().toArray();
+        if (latencies.length == 0) {
+            logger.info("[{}] 성공한 분석 없음", engine);
+            return;
+        }
+        OptionalDouble recall = measurements.stream().filter(m -> m.recall() != null).mapToDouble(Measurement::recall).average();
+        logger.info("[{}] 성공 {}/{} | 평균 {} ms, p50 {} ms, p95 {} ms | 평균 적중률 {}",
+                engine, latencies.length, measurements.size(),
+                (long) Arrays.stream(latencies).average().orElse(0),
+                percentile(latencies, 0.50), percentile(latencies, 0.95),
+                recall.isPresent() ? String.format("%.3f", recall.getAsDouble()) : "-");
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private Map<String, Set<String>> readLabels(Path labelsFile) throws IOException {
+        Map<String, Set<String>> labels = new HashMap<>();
+        if (!Files.isReadable(labelsFile)) {
+            return labels;
+        }
+        for (String line : Files.readAllLines(labelsFile, StandardCharsets.UTF_8)) {
+            int comma = line.indexOf(',');
+            if (line.isBlank() || comma < 0) continue;
+            Set<String> foods = new HashSet<>();
+            for (String food : line.substring(comma + 1).split("\\|")) {
+                if (!food.isBlank()) foods.add(food.trim());
+            }
+            labels.put(line.substring(0, comma).trim(), foods);
+        }
+        return labels;
+    }
+
+    private void writeReport(List<Measurement> measurements) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("image,engine,millis,recall,foods,error");
+        for (Measurement m : measurements) {
+            lines.add(String.join(",",
+                    m.image(),
+                    m.engine().name(),
+                    Long.toString(m.millis()),
+                    m.recall() == null ? "" : String.format("%.3f", m.recall()),
+                    String.join("|", m.foods()),
+                    m.error() == null ? "" : m.error().replace(',', ' ').replace('\n', ' ')));
+        }
+        Path report = imageDirectory.resolve(REPORT_FILE);
+        Files.write(report, lines, StandardCharsets.UTF_8);
+        logger.info("분석방식 벤치마크 결과 저장 : {}", report);
+    }
+
+    private boolean isImage(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+        return Files.isRegularFile(path) && (name.endsWith(".jpg") || name.endsWith(".jpeg") || name.endsWith(".png"));
+    }
+}
@@ -0,0 +1,41 @@
+package kr.ac.dankook.ace.healthy_meal_backend;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.ac.dankook.ace.healthy_meal_backend.security.AuthOutcomeRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthOutcomeRecorderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthOutcomeRecorder recorder = new AuthOutcomeRecorder(meterRegistry);
+
+    @Test
+    void unmatchedPathsAndMethodsShareBoundedMeters() {
+        // 스캐너처럼 매번 다른 경로와 메서드로 요청
+        for (int i = 0; i < 1000; i++) {
+            recorder.record(new MockHttpServletRequest("GET", "/a" + i + "/x"), AuthOutcomeRecorder.Outcome.MISSING_TOKEN);
+            recorder.record(new MockHttpServletRequest("FOO" + i, "/b" + i), AuthOutcomeRecorder.Outcome.MISSING_TOKEN);
+        }
+
+        assertEquals(2, meterRegistry.find("auth.requests").counters().size());
+        assertEquals(1000, meterRegistry.get("auth.requests").tag("endpoint", "GET UNMATCHED").counter().count());
+        assertEquals(1000, meterRegistry.get("auth.requests").tag("endpoint", "OTHER UNMATCHED").counter().count());
+    }
+
+    @Test
+    void knownRootsAndMappedPatternsKeepTheirEndpoint() {
+        recorder.record(new MockHttpServletRequest("GET", "/users/u1/meal-info"), AuthOutcomeRecorder.Outcome.INVALID_TOKEN);
+        recorder.record(new MockHttpServletRequest("GET", "/users/u2/meal-info"), AuthOutcomeRecorder.Outcome.INVALID_TOKEN);
+        MockHttpServletRequest mapped = new MockHttpServletRequest("GET", "/foods/3");
+        mapped.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/foods/{foodId}");
+        recorder.record(mapped, AuthOutcomeRecorder.Outcome.AUTHENTICATED);
+
+        assertEquals(2, meterRegistry.get("auth.requests").tag("endpoint", "GET /users/**").counter().count());
+        assertEquals(1, meterRegistry.get("auth.requests").tag("endpoint", "GET /foods/{foodId}").counter().count());
+    }
+}
@@ -0,0 +1,98 @@
+package kr.ac.dankook.ace.healthy_meal_backend;
+
+import jakarta.persistence.EntityManager;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.Food;
+import kr.ac.dankook.ace.healthy_meal_backend.entity.MealInfo;
+import kr.ac.dankook.ace.healthy_meal_backend.service.FoodLinkService;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 연결 100만 개가 달린 음식에 식단 하나를 연결/해제하는 비용을 재는 벤치마크입니다.
+ * 데이터 준비에 시간이 걸리므로 -Dbenchmark=true 를 줄 때만 실행됩니다. (트랜잭션 롤백으로 데이터는 남지 않음)
+ * ./gradlew test --tests '*FoodLinkScaleTest' -Dbenchmark=true
+ */
+@DataJpaTest
+@Import(FoodLinkService.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class FoodLinkScaleTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodLinkScaleTest.class);
+    private static final int LINK_COUNT = 1_000_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final String USER_ID = "food-link-scale-user";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private FoodLinkService foodLinkService;
+
+    @Test
+    void linkToFoodWithMillionLinks() {
+        jdbcTemplate.update("INSERT INTO user (id, hashed_password, gender) VALUES (?, ?, ?)", USER_ID, "hashedPassword", "m");
+        jdbcTemplate.update("INSERT INTO food (name) VALUES (?)", "연결 벤치마크 음식");
+        long foodId = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        for (int inserted = 0; inserted < LINK_COUNT + 1; inserted += BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            for (int i = inserted; i < Math.min(inserted + BATCH_SIZE, LINK_COUNT + 1); i++) {
+                rows.add(new Object[]{USER_ID, createdAt});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO meal_info (user_id, created_at) VALUES (?, ?)", rows);
+        }
+        long newMealInfoId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM meal_info WHERE user_id = ?", Long.class, USER_ID);
+        jdbcTemplate.update("INSERT INTO meal_info_food_link (meal_info_id, food_id, intake_amount) " +
+                "SELECT id, ?, 1 FROM meal_info WHERE user_id = ? AND id < ?", foodId, USER_ID, newMealInfoId);
+        entityManager.clear();
+
+        // 음식과 식단을 읽어 둔 상태에서 연결 (엔티티 편의 메서드가 쓰이던 상황과 같음)
+        Food food = entityManager.find(Food.class, foodId);
+        MealInfo mealInfo = entityManager.find(MealInfo.class, newMealInfoId);
+
+        long start = System.nanoTime();
+        assertTrue(foodLinkService.linkMealInfo(newMealInfoId, foodId, 1f));
+        assertFalse(foodLinkService.linkMealInfo(newMealInfoId, foodId, 1f));
+        entityManager.flush();
+        long linkNanos = System.nanoTime() - start;
+
+        assertFalse(Hibernate.isInitialized(food.getMealInfoFoodLinks()));
+
+        start = System.nanoTime();
+        assertTrue(foodLinkService.unlinkMealInfo(newMealInfoId, foodId));
+        entityManager.flush();
+        long unlinkNanos = System.nanoTime() - start;
+
+        assertFalse(Hibernate.isInitialized(food.getMealInfoFoodLinks()));
+        assertTrue(mealInfo.getMealInfoFoodLinks().isEmpty());
+
+        // 비교: 기존 편의 메서드가 중복 확인을 위해 하던 음식 쪽 전체 연결 목록 로딩
+        start = System.nanoTime();
+        int loaded = food.getMealInfoFoodLinks().size();
+        long loadNanos = System.nanoTime() - start;
+        assertEquals(LINK_COUNT, loaded);
+
+        logger.info("연결 {}개 음식 - 연결(중복 확인 포함): {} ms, 해제: {} ms, 전체 연결 목록 로딩: {} ms",
+                LINK_COUNT, linkNanos / 1_000_000, unlinkNanos / 1_000_000, loadNanos / 1_000_000);
+    }
+}
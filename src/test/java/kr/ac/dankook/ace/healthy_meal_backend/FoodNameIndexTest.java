@@ -0,0 +1,57 @@
+package kr.ac.dankook.ace.healthy_meal_backend;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.FoodNameIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FoodNameIndexTest {
+
+    private final FoodNameIndex index = FoodNameIndex.build(List.of(
+            "국밥_돼지머리", "국밥_순대", "김치찌개", "된장찌개", "돼지고기 김치찌개", "볶음밥_김치", "쌀밥"
+    ));
+
+    @Test
+    void exactNameScoresOne() {
+        List<FoodNameIndex.Match> matches = index.search("김치찌개", 3);
+
+        assertEquals("김치찌개", matches.get(0).term());
+        assertEquals(1.0, matches.get(0).score(), 1e-9);
+    }
+
+    @Test
+    void ignoresWhitespaceAndUnderscore() {
+        List<FoodNameIndex.Match> matches = index.search("국밥 순대", 1);
+
+        assertEquals("국밥_순대", matches.get(0).term());
+        assertEquals(1.0, matches.get(0).score(), 1e-9);
+    }
+
+    @Test
+    void resultsAreSortedAndLimitedToK() {
+        List<FoodNameIndex.Match> matches = index.search("김치 찌개", 2);
+
+        assertEquals(2, matches.size());
+        assertTrue(matches.get(0).score() >= matches.get(1).score());
+    }
+
+    @Test
+    void filterRestrictsCandidates() {
+        Set<String> allowed = Set.of("된장찌개", "돼지고기 김치찌개");
+
+        List<FoodNameIndex.Match> matches = index.search("김치찌개", 5, allowed::contains);
+
+        assertFalse(matches.isEmpty());
+        assertEquals("돼지고기 김치찌개", matches.get(0).term());
+        assertTrue(matches.stream().allMatch(match -> allowed.contains(match.term())));
+    }
+
+    @Test
+    void bestRespectsMinimumScore() {
+        assertTrue(index.best("김치볶음밥", 0.3, name -> true).isPresent());
+        assertTrue(index.best("스파게티", 0.3, name -> true).isEmpty());
+    }
+}
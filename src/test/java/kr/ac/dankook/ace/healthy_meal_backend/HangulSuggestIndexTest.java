@@ -0,0 +1,52 @@
+package kr.ac.dankook.ace.healthy_meal_backend;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.HangulSuggestIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HangulSuggestIndexTest {
+
+    private final HangulSuggestIndex index = HangulSuggestIndex.build(List.of(
+            "김치찌개", "김치찌개_돼지고기", "김밥", "기무치", "된장찌개", "볶음밥_김치", "괜찮은 국밥", "쌀밥"
+    ));
+
+    @Test
+    void syllablePrefixPrefersShorterNames() {
+        assertEquals(List.of("김치찌개", "김치찌개_돼지고기"), index.suggest("김치찌", 2));
+    }
+
+    @Test
+    void jamoPrefixMatchesSyllableBeingTyped() {
+        // "찌개" 를 입력하는 중 "찍" 으로 보이는 상태
+        assertEquals("김치찌개", index.suggest("김치찍", 5).get(0));
+        // 끝 음절의 받침이 다음 음절 초성인 경우 ("김" → "기무치" 도 후보)
+        assertTrue(index.suggest("김", 10).contains("기무치"));
+        // 겹모음 분해
+        assertEquals(List.of("괜찮은 국밥"), index.suggest("고", 5));
+    }
+
+    @Test
+    void chosungQuery() {
+        assertEquals(List.of("김치찌개", "김치찌개_돼지고기"), index.suggest("ㄱㅊㅉㄱ", 5));
+        // 단어 시작("돼지고기")에서 맞은 이름은 뒤로
+        assertEquals(List.of("된장찌개", "김치찌개_돼지고기"), index.suggest("ㄷㅈ", 5));
+    }
+
+    @Test
+    void wordStartsRankAfterNameStarts() {
+        List<String> suggestions = index.suggest("김치", 10);
+
+        assertEquals("김치찌개", suggestions.get(0));
+        assertEquals("볶음밥_김치", suggestions.get(suggestions.size() - 1));
+    }
+
+    @Test
+    void emptyOrUnknownQueryReturnsNothing() {
+        assertTrue(index.suggest(" ", 5).isEmpty());
+        assertTrue(index.suggest("ㅎㅎ", 5).isEmpty());
+        assertTrue(index.suggest("김치", 0).isEmpty());
+    }
+}
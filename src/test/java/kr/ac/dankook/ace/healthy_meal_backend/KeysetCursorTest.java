@@ -0,0 +1,42 @@
+package kr.ac.dankook.ace.healthy_meal_backend;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.KeysetCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 5, 1, 12, 30, 15, 123_000_000), 42L);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void blankCursorStartsFromTop() {
+        assertEquals(KeysetCursor.START, KeysetCursor.decode(null));
+        assertEquals(KeysetCursor.START, KeysetCursor.decode(""));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(KeysetCursor.encodeKey("2025-05-01T12:00")));
+    }
+
+    @Test
+    void keyCursorRoundTrip() {
+        assertEquals("사용자_01", KeysetCursor.decodeKey(KeysetCursor.encodeKey("사용자_01")));
+    }
+
+    @Test
+    void idCursorRoundTrip() {
+        assertEquals(42L, KeysetCursor.decodeId(KeysetCursor.encodeId(42L)));
+        assertEquals(Long.MAX_VALUE, KeysetCursor.decodeId(null));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decodeId(KeysetCursor.encodeKey("abc")));
+    }
+}
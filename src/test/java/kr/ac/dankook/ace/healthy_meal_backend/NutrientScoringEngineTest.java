@@ -0,0 +1,85 @@
+package kr.ac.dankook.ace.healthy_meal_backend;
+
+import kr.ac.dankook.ace.healthy_meal_backend.model.NutrientScoringEngine;
+import kr.ac.dankook.ace.healthy_meal_backend.model.enums.NutrientType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NutrientScoringEngineTest {
+
+    private static final int N = NutrientScoringEngine.NUTRIENT_COUNT;
+
+    @Test
+    void legacyMatchesLinearDeviationAverage() {
+        double[] actuals = new double[N];
+        double[] targets = new double[N];
+        double expected = 0;
+        for (int i = 0; i < N; i++) {
+            targets[i] = 100;
+            actuals[i] = 50 + i * 20;    // 비율 0.5 ~ 1.9
+            expected += Math.max(0, 100 - Math.abs(1 - actuals[i] / targets[i]) * 100);
+        }
+
+        assertEquals(expected / N, NutrientScoringEngine.legacy().score(actuals, targets), 1e-9);
+    }
+
+    @Test
+    void zeroTargetScoresFull() {
+        NutrientScoringEngine engine = NutrientScoringEngine.of(Map.of());
+
+        assertEquals(100.0, engine.nutrientScore(NutrientType.SODIUM, 5000, 0), 1e-9);
+    }
+
+    @Test
+    void curvesFollowScoringType() {
+        NutrientScoringEngine engine = NutrientScoringEngine.of(Map.of());
+
+        // LESS_IS_BETTER: 권장량 이하 만점, 2배에서 0점
+        assertEquals(100.0, engine.nutrientScore(NutrientType.SODIUM, 500, 2000), 1e-9);
+        assertEquals(50.0, engine.nutrientScore(NutrientType.SODIUM, 3000, 2000), 1e-9);
+        assertEquals(0.0, engine.nutrientScore(NutrientType.SODIUM, 5000, 2000), 1e-9);
+
+        // ENOUGH_IS_GOOD: 최소 비율(0.8) 이상 만점
+        assertEquals(100.0, engine.nutrientScore(NutrientType.PROTEIN, 200, 65), 1e-9);
+        assertEquals(50.0, engine.nutrientScore(NutrientType.PROTEIN, 26, 65), 1e-9);
+
+        // TARGET_RANGE: 0.8 ~ 1.2 만점, 2.0 에서 0점
+        assertEquals(100.0, engine.nutrientScore(NutrientType.ENERGY, 2200, 2000), 1e-9);
+        assertEquals(50.0, engine.nutrientScore(NutrientType.ENERGY, 3200, 2000), 1e-9);
+
+        // TARGET_RANGE_UPPER_SENSITIVE: 같은 과다 섭취에 더 크게 감점
+        assertTrue(engine.nutrientScore(NutrientType.FAT, 80, 50) < engine.nutrientScore(NutrientType.ENERGY, 3200, 2000));
+    }
+
+    @Test
+    void scoreAllMatchesSingleDayScore() {
+        NutrientScoringEngine engine = NutrientScoringEngine.of(Map.of());
+        int days = 3;
+        double[] actuals = new double[days * N];
+        double[] targets = new double[days * N];
+        for (int i = 0; i < actuals.length; i++) {
+            actuals[i] = 10 + i * 7;
+            targets[i] = 40 + (i % N) * 5;
+        }
+
+        double[] out = new double[days];
+        engine.scoreAll(actuals, targets, days, out);
+
+        for (int day = 0; day < days; day++) {
+            double expected = engine.score(
+                    Arrays.copyOfRange(actuals, day * N, (day + 1) * N),
+                    Arrays.copyOfRange(targets, day * N, (day + 1) * N));
+            assertEquals(expected, out[day], 1e-9);
+        }
+    }
+
+    @Test
+    void scoreAllRejectsShortArrays() {
+        assertThrows(IllegalArgumentException.class,
+                () -> NutrientScoringEngine.legacy().scoreAll(new double[N], new double[N], 2, new double[2]));
+    }
+}
@@ -0,0 +1,93 @@
+package kr.ac.dankook.ace.healthy_meal_backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import kr.ac.dankook.ace.healthy_meal_backend.config.WebClientConfig;
+import kr.ac.dankook.ace.healthy_meal_backend.model.ImageSource;
+import kr.ac.dankook.ace.healthy_meal_backend.service.OpenAiImageRequestBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OpenAI 클라이언트가 이미지 요청 body 를 버퍼링하지 않고 스트리밍으로 보내는지 확인합니다.
+ * body 를 byte[] 로 버퍼링하면 Content-Length 가 붙고, 스트리밍하면 chunked 로 전송됩니다.
+ */
+public class OpenAiClientStreamingTest {
+
+    private HttpServer server;
+    private final AtomicReference<String> transferEncoding = new AtomicReference<>();
+    private final AtomicReference<String> contentLength = new AtomicReference<>();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            transferEncoding.set(exchange.getRequestHeaders().getFirst("Transfer-Encoding"));
+            contentLength.set(exchange.getRequestHeaders().getFirst("Content-Length"));
+            try (InputStream in = exchange.getRequestBody()) {
+                receivedBody.set(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void imageBodyIsStreamedAndObserved() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        RestClient client = new WebClientConfig()
+                .respClient(RestClient.builder(), httpClient, observationRegistry, Duration.ofSeconds(10));
+
+        byte[] image = new byte[64 * 1024];
+        for (int i = 0; i < image.length; i++) {
+            image[i] = (byte) i;
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        OpenAiImageRequestBody body = new OpenAiImageRequestBody(
+                Map.of("image_url", OpenAiImageRequestBody.IMAGE_PLACEHOLDER), ImageSource.ofBytes(image), objectMapper);
+
+        client.post()
+                .uri(URI.create("http://localhost:" + server.getAddress().getPort() + "/v1/responses"))
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+
+        assertEquals("chunked", transferEncoding.get());
+        assertNull(contentLength.get());
+        String expected = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image);
+        assertEquals(expected, objectMapper.readTree(receivedBody.get()).get("image_url").asText());
+
+        assertNotNull(meterRegistry.find("http.client.requests").tag("client", "responses").tag("status", "200").timer());
+    }
+}